@@ -0,0 +1,341 @@
+package edu.ccrm.archive;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.EpochDays;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Name;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Read-only, memory-mapped segment of archived students and courses for one term
+ *
+ * <pre>
+ * segment := MAGIC year:int semester:byte studentTable courseTable records
+ * table   := count:int (offset:int)*       -- offsets sorted by record key
+ * string  := length:int utf8Bytes
+ * dates   := created:int lastModified:int  -- epoch days, restored on read
+ * </pre>
+ *
+ * Records are looked up by binary search over the mapped offset tables, so an
+ * open segment keeps no per-record objects on the heap.
+ */
+public final class ArchiveSegment {
+    private static final byte[] MAGIC = {'C', 'C', 'R', 'M', 'S', 'E', 'G', '2'};
+    private static final int NO_GRADE = -1;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int year;
+    private final Semester semester;
+    private final int studentTable;
+    private final int courseTable;
+
+    private ArchiveSegment(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.capacity() <= i || buffer.get(i) != MAGIC[i]) {
+                throw new IOException("Not an archive segment: " + path);
+            }
+        }
+        this.year = buffer.getInt(MAGIC.length);
+        this.semester = Semester.values()[buffer.get(MAGIC.length + 4)];
+        this.studentTable = MAGIC.length + 5;
+        this.courseTable = studentTable + 4 + 4 * buffer.getInt(studentTable);
+    }
+
+    /**
+     * Map an existing segment file read-only
+     */
+    public static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write a new segment file; fails if the file already exists
+     * The segment is written to a temporary file and moved into place
+     * atomically, so a failed write never leaves a partial segment behind
+     */
+    public static void write(Path path, int year, Semester semester,
+                             Collection<Student> students, Collection<Course> courses) throws IOException {
+        List<Student> sortedStudents = new ArrayList<>(students);
+        sortedStudents.sort(Comparator.comparing(Student::getId));
+        List<Course> sortedCourses = new ArrayList<>(courses);
+        sortedCourses.sort(Comparator.comparing(Course::getCode));
+
+        int headerSize = MAGIC.length + 5 + 4 + 4 * sortedStudents.size() + 4 + 4 * sortedCourses.size();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int[] studentOffsets = new int[sortedStudents.size()];
+        for (int i = 0; i < studentOffsets.length; i++) {
+            studentOffsets[i] = headerSize + out.size();
+            writeStudent(out, sortedStudents.get(i));
+        }
+        int[] courseOffsets = new int[sortedCourses.size()];
+        for (int i = 0; i < courseOffsets.length; i++) {
+            courseOffsets[i] = headerSize + out.size();
+            writeCourse(out, sortedCourses.get(i));
+        }
+        if ((long) headerSize + out.size() > Integer.MAX_VALUE) {
+            throw new IOException("Archive segment too large; split the term");
+        }
+
+        if (Files.exists(path)) {
+            throw new FileAlreadyExistsException(path.toString());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 DataOutputStream file = new DataOutputStream(new BufferedOutputStream(
+                         Channels.newOutputStream(channel)))) {
+                file.write(MAGIC);
+                file.writeInt(year);
+                file.writeByte(semester.ordinal());
+                file.writeInt(studentOffsets.length);
+                for (int offset : studentOffsets) file.writeInt(offset);
+                file.writeInt(courseOffsets.length);
+                for (int offset : courseOffsets) file.writeInt(offset);
+                records.writeTo(file);
+                file.flush();
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeStudent(DataOutputStream out, Student student) throws IOException {
+        Name name = student.getName();
+        writeString(out, student.getId());
+        writeString(out, student.getRegNo());
+        writeString(out, name.getFirstName());
+        writeString(out, name.getMiddleName());
+        writeString(out, name.getLastName());
+        writeString(out, student.getEmail());
+        out.writeInt(EpochDays.toInt(student.getDateOfBirth()));
+        out.writeInt(EpochDays.toInt(student.getEnrollmentDate()));
+        out.writeByte(student.getStatus().ordinal());
+        writeDates(out, student.getCreatedDate(), student.getLastModified());
+        List<String> codes = new ArrayList<>(student.getEnrolledCourses());
+        Collections.sort(codes);
+        out.writeInt(codes.size());
+        for (String code : codes) {
+            Grade grade = student.getGrade(code);
+            writeString(out, code);
+            out.writeByte(grade != null ? grade.ordinal() : NO_GRADE);
+        }
+    }
+
+    private static void writeCourse(DataOutputStream out, Course course) throws IOException {
+        writeString(out, course.getCode());
+        writeString(out, course.getTitle());
+        out.writeInt(course.getCredits());
+        writeString(out, course.getInstructorId());
+        out.writeByte(course.getSemester().ordinal());
+        writeString(out, course.getDepartment());
+        out.writeInt(course.getMaxEnrollment());
+        out.writeInt(course.getCurrentEnrollment());
+        out.writeBoolean(course.isActive());
+        writeDates(out, course.getCreatedDate(), course.getLastModified());
+    }
+
+    private static void writeDates(DataOutputStream out, LocalDate created, LocalDate lastModified)
+            throws IOException {
+        out.writeInt(EpochDays.toInt(created));
+        out.writeInt(EpochDays.toInt(lastModified));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public Semester getSemester() {
+        return semester;
+    }
+
+    public int getStudentCount() {
+        return buffer.getInt(studentTable);
+    }
+
+    public int getCourseCount() {
+        return buffer.getInt(courseTable);
+    }
+
+    public boolean containsStudent(String id) {
+        return find(studentTable, id) >= 0;
+    }
+
+    /**
+     * Rehydrate an archived student as a new, detached object
+     */
+    public Optional<Student> readStudent(String id) {
+        int offset = find(studentTable, id);
+        return offset < 0 ? Optional.empty() : Optional.of(readStudentAt(offset));
+    }
+
+    public Optional<Course> readCourse(String code) {
+        int offset = find(courseTable, code);
+        return offset < 0 ? Optional.empty() : Optional.of(readCourseAt(offset));
+    }
+
+    // Ids of all archived students, in sorted order
+    public List<String> studentIds() {
+        return keys(studentTable);
+    }
+
+    public List<String> courseCodes() {
+        return keys(courseTable);
+    }
+
+    private List<String> keys(int table) {
+        int count = buffer.getInt(table);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(new Reader(buffer.getInt(table + 4 + 4 * i)).string());
+        }
+        return keys;
+    }
+
+    // Binary search a sorted offset table; returns the record offset or -1
+    private int find(int table, String key) {
+        if (key == null) return -1;
+        int low = 0;
+        int high = buffer.getInt(table) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = buffer.getInt(table + 4 + 4 * mid);
+            int cmp = new Reader(offset).string().compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private Student readStudentAt(int offset) {
+        Reader in = new Reader(offset);
+        String id = in.string();
+        String regNo = in.string();
+        Name name = new Name(in.string(), in.string(), in.string());
+        String email = in.string();
+        int dob = in.integer();
+        int enrolled = in.integer();
+        Student.StudentStatus status = Student.StudentStatus.values()[in.signedByte()];
+        LocalDate created = EpochDays.toLocalDate(in.integer());
+        LocalDate lastModified = EpochDays.toLocalDate(in.integer());
+        Student student = new Student(id, regNo, name, email,
+                EpochDays.toLocalDate(dob), EpochDays.toLocalDate(enrolled));
+        int courseCount = in.integer();
+        Map<String, Grade> grades = new HashMap<>();
+        for (int i = 0; i < courseCount; i++) {
+            String code = in.string();
+            int grade = in.signedByte();
+            student.enrollInCourse(code);
+            if (grade != NO_GRADE) {
+                grades.put(code, Grade.values()[grade]);
+            }
+        }
+        student.recordGrades(grades);
+        student.setStatus(status);
+        student.restoreAuditDates(created, lastModified);
+        return student;
+    }
+
+    private Course readCourseAt(int offset) {
+        Reader in = new Reader(offset);
+        String code = in.string();
+        String title = in.string();
+        int credits = in.integer();
+        String instructorId = in.string();
+        Semester courseSemester = Semester.values()[in.signedByte()];
+        String department = in.string();
+        int maxEnrollment = in.integer();
+        int currentEnrollment = in.integer();
+        boolean active = in.signedByte() != 0;
+        LocalDate created = EpochDays.toLocalDate(in.integer());
+        LocalDate lastModified = EpochDays.toLocalDate(in.integer());
+        Course course = new Course.Builder(code, title, credits)
+                .instructorId(instructorId)
+                .semester(courseSemester)
+                .department(department)
+                .maxEnrollment(maxEnrollment)
+                .build();
+        course.setCurrentEnrollment(currentEnrollment);
+        course.setActive(active);
+        course.restoreAuditDates(created, lastModified);
+        return course;
+    }
+
+    /**
+     * Sequential reader over the mapped buffer using absolute gets,
+     * so concurrent lookups never share a buffer position
+     */
+    private final class Reader {
+        private int position;
+
+        Reader(int position) {
+            this.position = position;
+        }
+
+        int integer() {
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        int signedByte() {
+            return buffer.get(position++);
+        }
+
+        String string() {
+            int length = integer();
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(position + i);
+            }
+            position += length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveSegment{" + year + " " + semester + ", students=" + getStudentCount() +
+               ", courses=" + getCourseCount() + ", path=" + path + "}";
+    }
+}
@@ -0,0 +1,232 @@
+package edu.ccrm.archive;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Hot/cold record store
+ *
+ * Live students and courses stay in memory. Graduated and inactive students
+ * and deactivated courses of a finished term are moved into a read-only,
+ * memory-mapped segment per term. Lookups fall through to the archive
+ * transparently; archived records come back as detached snapshots, and
+ * reactivating a student moves it back into the hot tier.
+ *
+ * Segments are never modified once written and are searched newest first,
+ * so when a student is archived more than once the latest copy wins. The
+ * hot tier lives only in memory: after a reopen, a reactivated student reads
+ * as its archived copy again until the caller adds it back with
+ * {@link #addStudent(Student)}.
+ */
+public class ArchiveStore {
+    private static final String SEGMENT_PREFIX = "term-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final Set<Student.StudentStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(Student.StudentStatus.GRADUATED, Student.StudentStatus.INACTIVE);
+
+    private final Path directory;
+    private final Map<String, Student> hotStudents = new ConcurrentHashMap<>();
+    private final Map<String, Course> hotCourses = new ConcurrentHashMap<>();
+    // Oldest first; file names start with a sequence number so they sort that way
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private int lastSequence;
+
+    private ArchiveStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Open the archive in the given directory, mapping any existing segments
+     */
+    public static ArchiveStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ArchiveStore store = new ArchiveStore(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            List<Path> paths = new ArrayList<>();
+            files.forEach(paths::add);
+            Collections.sort(paths);
+            for (Path path : paths) {
+                store.segments.add(ArchiveSegment.open(path));
+                store.lastSequence = Math.max(store.lastSequence, sequenceOf(path));
+            }
+        }
+        return store;
+    }
+
+    public void addStudent(Student student) {
+        hotStudents.put(student.getId(), student);
+    }
+
+    public void addCourse(Course course) {
+        hotCourses.put(course.getCode(), course);
+    }
+
+    public Collection<Student> getHotStudents() {
+        return Collections.unmodifiableCollection(hotStudents.values());
+    }
+
+    public Collection<Course> getHotCourses() {
+        return Collections.unmodifiableCollection(hotCourses.values());
+    }
+
+    public List<ArchiveSegment> getSegments() {
+        return Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Move a finished term out of the hot tier
+     * Archives graduated/inactive students and the term's deactivated courses
+     * into a new segment, then drops them from memory. Students carry no term
+     * of their own, so each one is filed under the term being archived when it
+     * is first found graduated or inactive, i.e. the term it left in
+     * A record changed while the segment is written stays in the hot tier,
+     * where it shadows the older copy in the segment
+     *
+     * @return the new segment, or empty if nothing qualified
+     */
+    public synchronized Optional<ArchiveSegment> archiveTerm(int year, Semester semester) throws IOException {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        // Record versions at selection time; anything changed before removal stays hot
+        Map<Student, Long> studentVersions = new IdentityHashMap<>();
+        for (Student student : hotStudents.values()) {
+            if (ARCHIVABLE_STATUSES.contains(student.getStatus())) {
+                studentVersions.put(student, student.getVersion());
+            }
+        }
+        Map<Course, Long> courseVersions = new IdentityHashMap<>();
+        for (Course course : hotCourses.values()) {
+            if (course.getSemester() == semester && !course.isActive()) {
+                courseVersions.put(course, course.getVersion());
+            }
+        }
+        if (studentVersions.isEmpty() && courseVersions.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Student> students = new ArrayList<>(studentVersions.keySet());
+        List<Course> courses = new ArrayList<>(courseVersions.keySet());
+
+        Path path = nextSegmentPath(year, semester);
+        ArchiveSegment.write(path, year, semester, students, courses);
+        ArchiveSegment segment = ArchiveSegment.open(path);
+        segments.add(segment);
+        // Only drop records once they are safely readable from the segment, and
+        // only if unchanged since selection; a changed record shadows its archived copy
+        students.forEach(s -> hotStudents.computeIfPresent(s.getId(),
+                (id, hot) -> hot == s && s.getVersion() == studentVersions.get(s) ? null : hot));
+        courses.forEach(c -> hotCourses.computeIfPresent(c.getCode(),
+                (code, hot) -> hot == c && c.getVersion() == courseVersions.get(c) ? null : hot));
+        return Optional.of(segment);
+    }
+
+    // term-<sequence>-<year>-<semester>.seg
+    private Path nextSegmentPath(int year, Semester semester) {
+        lastSequence++;
+        return directory.resolve(SEGMENT_PREFIX + String.format("%06d", lastSequence)
+                + "-" + year + "-" + semester.name() + SEGMENT_SUFFIX);
+    }
+
+    private static int sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        int end = name.indexOf('-', SEGMENT_PREFIX.length());
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), end));
+        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            throw new IllegalStateException("Unexpected segment file name " + name, e);
+        }
+    }
+
+    /**
+     * Find a student in the hot tier, falling back to the archive
+     * Archived students are returned as detached snapshots; changes to them
+     * are not persisted unless the student is reactivated
+     */
+    public Optional<Student> findStudent(String id) {
+        Student hot = hotStudents.get(id);
+        if (hot != null) {
+            return Optional.of(hot);
+        }
+        return findArchivedSegment(id).flatMap(segment -> segment.readStudent(id));
+    }
+
+    public Optional<Course> findCourse(String code) {
+        Course hot = hotCourses.get(code);
+        if (hot != null) {
+            return Optional.of(hot);
+        }
+        for (ArchiveSegment segment : newestFirst()) {
+            Optional<Course> course = segment.readCourse(code);
+            if (course.isPresent()) {
+                return course;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isArchived(String id) {
+        return !hotStudents.containsKey(id) && findArchivedSegment(id).isPresent();
+    }
+
+    public Optional<String> getTranscript(String id) {
+        return findStudent(id).map(Student::generateTranscript);
+    }
+
+    /**
+     * Rehydrate an archived student into the hot tier with ACTIVE status
+     * The hot copy shadows the archived one until it is archived again; like
+     * the rest of the hot tier it is not persisted by this store
+     */
+    public synchronized Optional<Student> reactivate(String id) {
+        Student hot = hotStudents.get(id);
+        if (hot != null) {
+            return Optional.of(hot);
+        }
+        Optional<ArchiveSegment> segment = findArchivedSegment(id);
+        if (segment.isEmpty()) {
+            return Optional.empty();
+        }
+        Student student = segment.get().readStudent(id).orElseThrow();
+        student.setStatus(Student.StudentStatus.ACTIVE);
+        hotStudents.put(id, student);
+        return Optional.of(student);
+    }
+
+    private Optional<ArchiveSegment> findArchivedSegment(String id) {
+        for (ArchiveSegment segment : newestFirst()) {
+            if (segment.containsStudent(id)) {
+                return Optional.of(segment);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * All students, hot first and then archived snapshots, for reports
+     * Archived records are rehydrated lazily as the stream is consumed; a
+     * student archived more than once appears only with its latest copy
+     */
+    public Stream<Student> allStudents() {
+        Set<String> seen = new HashSet<>(hotStudents.keySet());
+        Stream<Student> archived = newestFirst().stream()
+                .flatMap(segment -> segment.studentIds().stream()
+                        .filter(seen::add)
+                        .map(id -> segment.readStudent(id).orElseThrow()));
+        return Stream.concat(hotStudents.values().stream(), archived);
+    }
+
+    private List<ArchiveSegment> newestFirst() {
+        List<ArchiveSegment> newest = new ArrayList<>(segments);
+        Collections.reverse(newest);
+        return newest;
+    }
+}
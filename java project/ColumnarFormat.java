@@ -0,0 +1,77 @@
+package edu.ccrm.io;
+
+/**
+ * Layout of the columnar enrollment export
+ *
+ * <pre>
+ * file      := MAGIC version:int columnCount:int (name:UTF encoding:byte)* group* END totalRows:long
+ * group     := GROUP rowCount:int dictDelta* columnChunk*
+ * dictDelta := byteLength:int entryCount:int (entry:UTF)*     -- one per dictionary column
+ * columnChunk := min:int max:int byteLength:int values        -- one per column
+ * </pre>
+ *
+ * DICTIONARY ids are assigned in first-seen order across the whole file;
+ * each row group only carries the entries it added. GROUP_DICTIONARY ids
+ * restart in every row group, which keeps writer and reader memory bounded
+ * for near-unique values such as student ids. Every chunk is length
+ * prefixed so readers can skip columns they did not project.
+ */
+public final class ColumnarFormat {
+    static final byte[] MAGIC = {'C', 'C', 'R', 'M', 'C', 'O', 'L', '1'};
+    static final int VERSION = 1;
+    static final byte GROUP = 'G';
+    static final byte END = 'E';
+    static final int NULL_ORDINAL = -1;
+
+    private ColumnarFormat() {
+    }
+
+    /**
+     * Physical encoding of a column
+     */
+    public enum Encoding {
+        DICTIONARY(4),  // int id into the column dictionary
+        INT8(1),        // enum ordinals and small counts
+        INT32(4),       // epoch days and unbounded counts
+        GROUP_DICTIONARY(4); // int id into a dictionary local to the row group
+
+        public boolean isDictionary() {
+            return this == DICTIONARY || this == GROUP_DICTIONARY;
+        }
+
+        private final int width;
+
+        Encoding(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    /**
+     * Columns of the enrollment export, one row per student enrollment
+     */
+    public enum Column {
+        STUDENT_ID(Encoding.GROUP_DICTIONARY),
+        STUDENT_STATUS(Encoding.INT8),       // Student.StudentStatus ordinal
+        COURSE_CODE(Encoding.DICTIONARY),
+        DEPARTMENT(Encoding.DICTIONARY),
+        INSTRUCTOR_ID(Encoding.DICTIONARY),
+        SEMESTER(Encoding.INT8),             // Semester ordinal, -1 if course unknown
+        CREDITS(Encoding.INT32),             // Course.Builder accepts any positive count
+        GRADE(Encoding.INT8),                // Grade ordinal, -1 if not graded
+        ENROLLMENT_DATE(Encoding.INT32);     // Epoch day
+
+        private final Encoding encoding;
+
+        Column(Encoding encoding) {
+            this.encoding = encoding;
+        }
+
+        public Encoding getEncoding() {
+            return encoding;
+        }
+    }
+}
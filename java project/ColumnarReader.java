@@ -0,0 +1,222 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.io.ColumnarFormat.Column;
+import edu.ccrm.io.ColumnarFormat.Encoding;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Reader for the columnar enrollment export with column projection
+ *
+ * Only projected columns are decoded; the bytes of other columns and their
+ * dictionaries are skipped. Row groups are read one at a time.
+ */
+public class ColumnarReader implements Closeable {
+    private final DataInputStream in;
+    private final Set<Column> projection;
+    private final Map<Column, List<String>> dictionaries = new EnumMap<>(Column.class);
+    private final List<Column> fileColumns = new ArrayList<>();
+    private long rowsRead;
+    private boolean finished;
+
+    public ColumnarReader(InputStream in, Set<Column> projection) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Objects.requireNonNull(in)));
+        this.projection = projection.isEmpty() ? EnumSet.noneOf(Column.class) : EnumSet.copyOf(projection);
+        readHeader();
+        for (Column column : this.projection) {
+            if (column.getEncoding().isDictionary()) {
+                dictionaries.put(column, new ArrayList<>());
+            }
+        }
+    }
+
+    public static ColumnarReader open(Path path, Set<Column> projection) throws IOException {
+        return new ColumnarReader(Files.newInputStream(path), projection);
+    }
+
+    public static ColumnarReader open(Path path) throws IOException {
+        return open(path, EnumSet.allOf(Column.class));
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = new byte[ColumnarFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, ColumnarFormat.MAGIC)) {
+            throw new IOException("Not a CCRM columnar file");
+        }
+        int version = in.readInt();
+        if (version != ColumnarFormat.VERSION) {
+            throw new IOException("Unsupported columnar format version: " + version);
+        }
+        int columnCount = in.readInt();
+        for (int i = 0; i < columnCount; i++) {
+            String name = in.readUTF();
+            int encoding = in.readByte();
+            Column column;
+            try {
+                column = Column.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown column: " + name);
+            }
+            if (column.getEncoding().ordinal() != encoding) {
+                throw new IOException("Unexpected encoding for column " + name);
+            }
+            fileColumns.add(column);
+        }
+    }
+
+    /**
+     * Read the next row group
+     *
+     * @return the row group, or null once the end of the file is reached
+     */
+    public RowGroup next() throws IOException {
+        if (finished) return null;
+        byte marker = in.readByte();
+        if (marker == ColumnarFormat.END) {
+            long total = in.readLong();
+            if (total != rowsRead) {
+                throw new IOException("Row count mismatch: expected " + total + " but read " + rowsRead);
+            }
+            finished = true;
+            return null;
+        }
+        if (marker != ColumnarFormat.GROUP) {
+            throw new IOException("Corrupt columnar file: unexpected marker " + marker);
+        }
+
+        int rowCount = in.readInt();
+        for (Column column : fileColumns) {
+            if (!column.getEncoding().isDictionary()) continue;
+            int byteLength = in.readInt();
+            List<String> dictionary = dictionaries.get(column);
+            if (dictionary == null) {
+                skipFully(byteLength);
+                continue;
+            }
+            if (column.getEncoding() == Encoding.GROUP_DICTIONARY) {
+                // Fresh list, so earlier row groups keep resolving their own ids
+                dictionary = new ArrayList<>();
+                dictionaries.put(column, dictionary);
+            }
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                dictionary.add(in.readUTF());
+            }
+        }
+
+        Map<Column, int[]> values = new EnumMap<>(Column.class);
+        Map<Column, int[]> stats = new EnumMap<>(Column.class);
+        for (Column column : fileColumns) {
+            int min = in.readInt();
+            int max = in.readInt();
+            int byteLength = in.readInt();
+            stats.put(column, new int[] {min, max});
+            if (!projection.contains(column)) {
+                skipFully(byteLength);
+                continue;
+            }
+            int[] decoded = new int[rowCount];
+            boolean narrow = column.getEncoding().getWidth() == 1;
+            for (int i = 0; i < rowCount; i++) {
+                decoded[i] = narrow ? in.readByte() : in.readInt();
+            }
+            values.put(column, decoded);
+        }
+        rowsRead += rowCount;
+        return new RowGroup(rowCount, values, stats, new EnumMap<>(dictionaries));
+    }
+
+    private void skipFully(int bytes) throws IOException {
+        int remaining = bytes;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("Unexpected end of columnar file");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Decoded projected columns of one row group
+     */
+    public final class RowGroup {
+        private final int rowCount;
+        private final Map<Column, int[]> values;
+        private final Map<Column, int[]> stats;
+        private final Map<Column, List<String>> groupDictionaries;
+
+        private RowGroup(int rowCount, Map<Column, int[]> values, Map<Column, int[]> stats,
+                         Map<Column, List<String>> groupDictionaries) {
+            this.rowCount = rowCount;
+            this.values = values;
+            this.stats = stats;
+            this.groupDictionaries = groupDictionaries;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        // Min/max are over encoded values (dictionary ids, ordinals, epoch days);
+        // GROUP_DICTIONARY ids are only comparable within one row group
+        public int getMin(Column column) {
+            return stats.get(column)[0];
+        }
+
+        public int getMax(Column column) {
+            return stats.get(column)[1];
+        }
+
+        // Raw encoded column values; the returned array is not copied
+        public int[] getColumn(Column column) {
+            int[] decoded = values.get(column);
+            if (decoded == null) {
+                throw new IllegalArgumentException("Column not projected: " + column);
+            }
+            return decoded;
+        }
+
+        public int getInt(Column column, int row) {
+            return getColumn(column)[row];
+        }
+
+        public String getString(Column column, int row) {
+            if (!column.getEncoding().isDictionary()) {
+                throw new IllegalArgumentException("Column is not dictionary encoded: " + column);
+            }
+            return groupDictionaries.get(column).get(getInt(column, row));
+        }
+
+        public Grade getGrade(int row) {
+            int ordinal = getInt(Column.GRADE, row);
+            return ordinal == ColumnarFormat.NULL_ORDINAL ? null : Grade.values()[ordinal];
+        }
+
+        public Semester getSemester(int row) {
+            int ordinal = getInt(Column.SEMESTER, row);
+            return ordinal == ColumnarFormat.NULL_ORDINAL ? null : Semester.values()[ordinal];
+        }
+
+        public Student.StudentStatus getStudentStatus(int row) {
+            return Student.StudentStatus.values()[getInt(Column.STUDENT_STATUS, row)];
+        }
+
+        public LocalDate getEnrollmentDate(int row) {
+            return LocalDate.ofEpochDay(getInt(Column.ENROLLMENT_DATE, row));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.EpochDays;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.io.ColumnarFormat.Column;
+import edu.ccrm.io.ColumnarFormat.Encoding;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Streaming writer for the columnar enrollment export
+ * Buffers at most one row group in memory before flushing it; only the
+ * low-cardinality DICTIONARY columns keep state across row groups
+ */
+public class ColumnarWriter implements Closeable {
+    public static final int DEFAULT_ROW_GROUP_SIZE = 64 * 1024;
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final int[][] buffers;
+    private final Map<Column, Map<String, Integer>> dictionaries = new EnumMap<>(Column.class);
+    private final Map<Column, List<String>> pendingEntries = new EnumMap<>(Column.class);
+    private int bufferedRows;
+    private long totalRows;
+    private boolean closed;
+
+    public ColumnarWriter(OutputStream out, int rowGroupSize) throws IOException {
+        if (rowGroupSize <= 0) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(out)));
+        this.rowGroupSize = rowGroupSize;
+        this.buffers = new int[COLUMNS.length][rowGroupSize];
+        for (Column column : COLUMNS) {
+            if (column.getEncoding().isDictionary()) {
+                dictionaries.put(column, new HashMap<>());
+                pendingEntries.put(column, new ArrayList<>());
+            }
+        }
+        writeHeader();
+    }
+
+    public ColumnarWriter(Path path) throws IOException {
+        this(Files.newOutputStream(path), DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Export one row per enrollment of every student
+     *
+     * @param coursesByCode course lookup by normalized code; unknown codes are
+     *                      written with empty department and instructor
+     * @return number of rows written
+     */
+    public static long exportEnrollments(Collection<Student> students, Map<String, Course> coursesByCode,
+                                         Path path) throws IOException {
+        try (ColumnarWriter writer = new ColumnarWriter(path)) {
+            for (Student student : students) {
+                List<String> codes = new ArrayList<>(student.getEnrolledCourses());
+                Collections.sort(codes);
+                for (String code : codes) {
+                    writer.writeEnrollment(student, code, coursesByCode.get(code));
+                }
+            }
+            return writer.getRowCount();
+        }
+    }
+
+    // Rows written so far, including those still buffered
+    public long getRowCount() {
+        return totalRows + bufferedRows;
+    }
+
+    public void writeEnrollment(Student student, String courseCode, Course course) throws IOException {
+        Grade grade = student.getGrade(courseCode);
+        int row = bufferedRows;
+        set(Column.STUDENT_ID, row, encode(Column.STUDENT_ID, student.getId()));
+        set(Column.STUDENT_STATUS, row, student.getStatus().ordinal());
+        set(Column.COURSE_CODE, row, encode(Column.COURSE_CODE, courseCode));
+        set(Column.DEPARTMENT, row, encode(Column.DEPARTMENT, course != null ? course.getDepartment() : ""));
+        set(Column.INSTRUCTOR_ID, row, encode(Column.INSTRUCTOR_ID, course != null ? course.getInstructorId() : ""));
+        set(Column.SEMESTER, row, course != null ? course.getSemester().ordinal() : ColumnarFormat.NULL_ORDINAL);
+        set(Column.CREDITS, row, course != null ? course.getCredits() : 0);
+        set(Column.GRADE, row, grade != null ? grade.ordinal() : ColumnarFormat.NULL_ORDINAL);
+        set(Column.ENROLLMENT_DATE, row, EpochDays.toInt(student.getEnrollmentDate()));
+        if (++bufferedRows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    // Narrow columns are range-checked rather than silently truncated
+    private void set(Column column, int row, int value) {
+        if (column.getEncoding().getWidth() == 1 && (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE)) {
+            throw new IllegalArgumentException("Value " + value + " out of range for column " + column);
+        }
+        buffers[column.ordinal()][row] = value;
+    }
+
+    private int encode(Column column, String value) {
+        Map<String, Integer> dictionary = dictionaries.get(column);
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+            pendingEntries.get(column).add(value);
+        }
+        return id;
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(ColumnarFormat.MAGIC);
+        out.writeInt(ColumnarFormat.VERSION);
+        out.writeInt(COLUMNS.length);
+        for (Column column : COLUMNS) {
+            out.writeUTF(column.name());
+            out.writeByte(column.getEncoding().ordinal());
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (bufferedRows == 0) return;
+        out.writeByte(ColumnarFormat.GROUP);
+        out.writeInt(bufferedRows);
+
+        for (Map.Entry<Column, List<String>> entry : pendingEntries.entrySet()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream delta = new DataOutputStream(bytes);
+            delta.writeInt(entry.getValue().size());
+            for (String value : entry.getValue()) {
+                delta.writeUTF(value);
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            entry.getValue().clear();
+            if (entry.getKey().getEncoding() == Encoding.GROUP_DICTIONARY) {
+                dictionaries.get(entry.getKey()).clear();
+            }
+        }
+
+        for (Column column : COLUMNS) {
+            int[] values = buffers[column.ordinal()];
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < bufferedRows; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            out.writeInt(min);
+            out.writeInt(max);
+            out.writeInt(bufferedRows * column.getEncoding().getWidth());
+            for (int i = 0; i < bufferedRows; i++) {
+                if (column.getEncoding().getWidth() == 1) {
+                    out.writeByte(values[i]);
+                } else {
+                    out.writeInt(values[i]);
+                }
+            }
+        }
+        totalRows += bufferedRows;
+        bufferedRows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flushRowGroup();
+            out.writeByte(ColumnarFormat.END);
+            out.writeLong(totalRows);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -2,12 +2,18 @@ package edu.ccrm.domain;
 
 import java.time.LocalDate;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Course class demonstrating Builder design pattern
  * Uses nested static Builder class
+ * Dates are held as epoch days and department/instructor strings are
+ * interned, since both repeat across thousands of courses
  */
 public class Course {
+    // Source of versions, shared by all courses so any change moves latestVersion()
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    
     private final String code;
     private final String title;
     private final int credits;
@@ -17,22 +23,24 @@ public class Course {
     private int maxEnrollment;
     private int currentEnrollment;
     private boolean isActive;
-    private LocalDate createdDate;
-    private LocalDate lastModified;
+    private int createdDate; // Epoch day
+    private int lastModified; // Epoch day
+    private volatile long version; // Changes on every modification
     
     // Private constructor - forces use of Builder
     private Course(Builder builder) {
         this.code = builder.code;
         this.title = builder.title;
         this.credits = builder.credits;
-        this.instructorId = builder.instructorId;
+        this.instructorId = builder.instructorId.intern();
         this.semester = builder.semester;
-        this.department = builder.department;
+        this.department = builder.department.intern();
         this.maxEnrollment = builder.maxEnrollment;
         this.currentEnrollment = 0;
         this.isActive = true;
-        this.createdDate = LocalDate.now();
-        this.lastModified = LocalDate.now();
+        this.createdDate = EpochDays.today();
+        this.lastModified = this.createdDate;
+        this.version = VERSIONS.incrementAndGet();
     }
     
     // Static nested Builder class
@@ -106,7 +114,7 @@ public class Course {
     }
     
     public void setInstructorId(String instructorId) {
-        this.instructorId = instructorId != null ? instructorId : "";
+        this.instructorId = instructorId != null ? instructorId.intern() : "";
         updateLastModified();
     }
     
@@ -124,7 +132,7 @@ public class Course {
     }
     
     public void setDepartment(String department) {
-        this.department = department != null ? department : "";
+        this.department = department != null ? department.intern() : "";
         updateLastModified();
     }
     
@@ -162,15 +170,34 @@ public class Course {
     }
     
     public LocalDate getCreatedDate() {
-        return createdDate;
+        return EpochDays.toLocalDate(createdDate);
     }
     
     public LocalDate getLastModified() {
-        return lastModified;
+        return EpochDays.toLocalDate(lastModified);
+    }
+    
+    // Modification version, finer grained than lastModified
+    public long getVersion() {
+        return version;
+    }
+    
+    // Latest version handed out to any course; unchanged means no course changed
+    public static long latestVersion() {
+        return VERSIONS.get();
+    }
+    
+    // Restore the dates of a course loaded from storage; call after any other
+    // change, since those move lastModified to today
+    public void restoreAuditDates(LocalDate createdDate, LocalDate lastModified) {
+        this.createdDate = EpochDays.toInt(Objects.requireNonNull(createdDate, "Created date cannot be null"));
+        this.lastModified = EpochDays.toInt(Objects.requireNonNull(lastModified, "Last modified date cannot be null"));
+        this.version = VERSIONS.incrementAndGet();
     }
     
     private void updateLastModified() {
-        this.lastModified = LocalDate.now();
+        this.lastModified = EpochDays.today();
+        this.version = VERSIONS.incrementAndGet();
     }
     
     // Business methods
@@ -0,0 +1,58 @@
+package edu.ccrm.query;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+
+import java.util.*;
+
+/**
+ * Snapshot index over courses by department and semester
+ * Used by CourseQuery to avoid full scans of the collection it was built
+ * from. Queries over any other collection, or made after any course has been
+ * created or changed, scan instead, so rebuild the index after changes to
+ * keep it useful
+ */
+public final class CourseIndex {
+    private final Map<String, List<Course>> byDepartment;
+    private final Map<Semester, List<Course>> bySemester;
+    private final IndexSnapshot<Course> snapshot;
+
+    private CourseIndex(Map<String, List<Course>> byDepartment,
+                        Map<Semester, List<Course>> bySemester, IndexSnapshot<Course> snapshot) {
+        this.byDepartment = byDepartment;
+        this.bySemester = bySemester;
+        this.snapshot = snapshot;
+    }
+
+    // Build the index in a single pass over the courses
+    public static CourseIndex build(Collection<Course> courses) {
+        Objects.requireNonNull(courses, "Courses cannot be null");
+        Map<String, List<Course>> byDepartment = new HashMap<>();
+        Map<Semester, List<Course>> bySemester = new EnumMap<>(Semester.class);
+        IndexSnapshot<Course> snapshot = new IndexSnapshot<>(courses, Course::latestVersion);
+        for (Course course : courses) {
+            byDepartment.computeIfAbsent(normalize(course.getDepartment()), d -> new ArrayList<>()).add(course);
+            bySemester.computeIfAbsent(course.getSemester(), s -> new ArrayList<>()).add(course);
+        }
+        return new CourseIndex(byDepartment, bySemester, snapshot);
+    }
+
+    public List<Course> inDepartment(String department) {
+        return Collections.unmodifiableList(
+                byDepartment.getOrDefault(normalize(department), Collections.emptyList()));
+    }
+
+    public List<Course> inSemester(Semester semester) {
+        return Collections.unmodifiableList(bySemester.getOrDefault(semester, Collections.emptyList()));
+    }
+
+    // Whether lookups still describe the given source exactly
+    boolean isCurrent(Collection<Course> source) {
+        return snapshot.isCurrent(source);
+    }
+
+    // Departments are matched case-insensitively
+    static String normalize(String department) {
+        return department == null ? "" : department.trim().toUpperCase();
+    }
+}
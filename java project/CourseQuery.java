@@ -0,0 +1,83 @@
+package edu.ccrm.query;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fluent query over courses
+ * Filters on department, semester, credits, fill percentage and active flag
+ */
+public class CourseQuery extends Query<Course, CourseQuery> {
+    private final List<Function<CourseIndex, Collection<Course>>> indexLookups = new ArrayList<>();
+    private CourseIndex index;
+
+    @Override
+    protected CourseQuery self() {
+        return this;
+    }
+
+    // Use an index to narrow candidates; falls back to a scan if it is stale
+    public CourseQuery using(CourseIndex index) {
+        this.index = index;
+        return this;
+    }
+
+    // Department match is case-insensitive
+    public CourseQuery department(String department) {
+        String normalized = CourseIndex.normalize(department);
+        indexLookups.add(idx -> idx.inDepartment(normalized));
+        return addClause(c -> CourseIndex.normalize(c.getDepartment()).equals(normalized), COST_LOOKUP);
+    }
+
+    public CourseQuery semester(Semester semester) {
+        Objects.requireNonNull(semester, "Semester cannot be null");
+        indexLookups.add(idx -> idx.inSemester(semester));
+        return addClause(c -> c.getSemester() == semester, COST_FIELD);
+    }
+
+    // Credit range, both bounds inclusive
+    public CourseQuery creditsBetween(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Minimum credits cannot exceed maximum credits");
+        }
+        return addClause(c -> c.getCredits() >= min && c.getCredits() <= max, COST_FIELD);
+    }
+
+    // Fill percentage range (0-100), both bounds inclusive
+    public CourseQuery fillBetween(double minPercent, double maxPercent) {
+        if (minPercent > maxPercent) {
+            throw new IllegalArgumentException("Minimum fill cannot exceed maximum fill");
+        }
+        return addClause(c -> {
+            double fill = c.getEnrollmentPercentage();
+            return fill >= minPercent && fill <= maxPercent;
+        }, COST_FIELD);
+    }
+
+    public CourseQuery active(boolean active) {
+        return addClause(c -> c.isActive() == active, COST_FIELD);
+    }
+
+    // Normalized codes of matching courses, for use with StudentQuery.enrolledInAny
+    public Set<String> codes(Collection<Course> source) {
+        return stream(source)
+                .map(c -> c.getCode().trim().toUpperCase())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    protected Collection<Course> candidates(Collection<Course> source) {
+        if (index == null || indexLookups.isEmpty() || !index.isCurrent(source)) {
+            return source; // No usable index: scan
+        }
+        List<Collection<Course>> options = new ArrayList<>();
+        for (Function<CourseIndex, Collection<Course>> lookup : indexLookups) {
+            options.add(lookup.apply(index));
+        }
+        return smallest(source, options);
+    }
+}
@@ -0,0 +1,40 @@
+package edu.ccrm.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Checked conversions between LocalDate and the int epoch days used to keep
+ * domain objects compact
+ *
+ * Supported dates run from -5877641-06-24 to +5881580-07-11; anything
+ * outside that range is rejected rather than silently truncated.
+ * Integer.MIN_VALUE is reserved to mean "no date".
+ */
+public final class EpochDays {
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    public static final LocalDate MIN_SUPPORTED = LocalDate.ofEpochDay(NO_DATE + 1L);
+    public static final LocalDate MAX_SUPPORTED = LocalDate.ofEpochDay(Integer.MAX_VALUE);
+
+    private EpochDays() {
+    }
+
+    // Epoch day of the date, or NO_DATE for null
+    public static int toInt(LocalDate date) {
+        if (date == null) return NO_DATE;
+        long epochDay = date.toEpochDay();
+        if (epochDay <= NO_DATE || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date " + date + " is outside the supported range "
+                    + MIN_SUPPORTED + " to " + MAX_SUPPORTED);
+        }
+        return (int) epochDay;
+    }
+
+    // Date for the epoch day, or null for NO_DATE
+    public static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public static int today() {
+        return toInt(LocalDate.now());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Name;
+import edu.ccrm.domain.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures retained heap bytes per Student and per Course
+ *
+ * Records are built from freshly allocated strings, as they would be when
+ * parsed from CSV, so duplicate name parts and departments are not shared
+ * by accident through string literals.
+ *
+ * Usage: java edu.ccrm.tools.FootprintReport [students] [courses]
+ */
+public class FootprintReport {
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int courseCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        SyntheticPopulation template = SyntheticPopulation.generate(7L, 1000, 1000);
+
+        long before = usedHeap();
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Student source = template.getStudents().get(i % 1000);
+            Name name = source.getName();
+            students.add(new Student(
+                    "S" + i, "REG" + i,
+                    new Name(copy(name.getFirstName()), copy(name.getMiddleName()), copy(name.getLastName())),
+                    "s" + i + "@ccrm.edu", source.getDateOfBirth()));
+        }
+        long afterStudents = usedHeap();
+
+        List<Course> courses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            Course source = template.getCourses().get(i % 1000);
+            courses.add(new Course.Builder("C" + i, "Course " + i, source.getCredits())
+                    .department(copy(source.getDepartment()))
+                    .instructorId(copy(source.getInstructorId()))
+                    .semester(source.getSemester())
+                    .build());
+        }
+        long afterCourses = usedHeap();
+
+        System.out.println("========== FOOTPRINT REPORT ==========");
+        System.out.printf("Students: %d, %.1f bytes/record (includes list slot, id, regNo, email)%n",
+                studentCount, (afterStudents - before) / (double) studentCount);
+        System.out.printf("Courses:  %d, %.1f bytes/record (includes list slot, code, title)%n",
+                courseCount, (afterCourses - afterStudents) / (double) courseCount);
+        System.out.println("Sanity: " + students.get(studentCount - 1).getName() + " / "
+                + courses.get(courseCount - 1).getDepartment());
+        System.out.println("======================================");
+    }
+
+    // Fresh String instance with the same contents
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
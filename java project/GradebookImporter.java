@@ -0,0 +1,289 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming gradebook ingest with an outcome for every row
+ *
+ * Input is CSV of the form {@code studentId,courseCode,grade}, with an
+ * optional header line. The grade is either a letter (S, A, ... F) or grade
+ * points, mapped through {@link Grade#getGradeByPoints(double)}.
+ *
+ * Rows are parsed and normalized once, grouped by student, validated against
+ * each student's enrollment in bulk and then applied in parallel with one
+ * task per student, so no student is ever touched by two threads.
+ */
+public class GradebookImporter {
+    private static final String HEADER_PREFIX = "studentid";
+    private static final double MAX_GRADE_POINTS = 10.0;
+
+    private final Function<String, Student> studentLookup;
+
+    /**
+     * Outcome of a single gradebook row
+     */
+    public enum Outcome {
+        APPLIED,
+        SUPERSEDED,       // A later row for the same student and course won
+        NOT_ENROLLED,
+        UNKNOWN_STUDENT,
+        INVALID_GRADE,
+        MALFORMED
+    }
+
+    /**
+     * @param studentLookup resolves a student id to a student, or null if unknown
+     */
+    public GradebookImporter(Function<String, Student> studentLookup) {
+        this.studentLookup = Objects.requireNonNull(studentLookup, "Student lookup cannot be null");
+    }
+
+    public GradebookImporter(Map<String, Student> studentsById) {
+        this(Objects.requireNonNull(studentsById, "Students cannot be null")::get);
+    }
+
+    public Report importFile(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             Stream<String> lines = reader.lines()) {
+            return importLines(lines);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Ingest a stream of CSV lines; line numbers in the report are 1-based
+     */
+    public Report importLines(Stream<String> lines) {
+        // Pass 1: parse and group by student, streaming the input once
+        List<RowResult> results = new ArrayList<>();
+        Map<String, List<RowResult>> byStudent = new LinkedHashMap<>();
+        Iterator<String> it = lines.iterator();
+        int lineNumber = 0;
+        while (it.hasNext()) {
+            String line = it.next();
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                continue;
+            }
+            RowResult row = parse(lineNumber, line);
+            results.add(row);
+            if (row.outcome == null) {
+                byStudent.computeIfAbsent(row.studentId, id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        // Pass 2: validate and apply per student partition in parallel
+        byStudent.entrySet().parallelStream()
+                .forEach(entry -> applyForStudent(entry.getKey(), entry.getValue()));
+
+        return new Report(results);
+    }
+
+    private void applyForStudent(String studentId, List<RowResult> rows) {
+        Student student = studentLookup.apply(studentId);
+        if (student == null) {
+            rows.forEach(row -> row.reject(Outcome.UNKNOWN_STUDENT, "Unknown student " + studentId));
+            return;
+        }
+
+        // One enrollment snapshot per student instead of a check per row
+        Set<String> enrolled = student.getEnrolledCourses();
+        Map<String, RowResult> latest = new LinkedHashMap<>();
+        for (RowResult row : rows) {
+            if (!enrolled.contains(row.courseCode)) {
+                row.reject(Outcome.NOT_ENROLLED, "Not enrolled in " + row.courseCode);
+                continue;
+            }
+            RowResult previous = latest.put(row.courseCode, row);
+            if (previous != null) {
+                previous.reject(Outcome.SUPERSEDED, "Superseded by line " + row.lineNumber);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        Map<String, Grade> grades = new LinkedHashMap<>();
+        latest.forEach((code, row) -> grades.put(code, row.grade));
+        // Enrollment may have changed since the snapshot; report what was actually recorded
+        Set<String> recorded = student.recordGrades(grades);
+        latest.forEach((code, row) -> {
+            if (recorded.contains(code)) {
+                row.outcome = Outcome.APPLIED;
+            } else {
+                row.reject(Outcome.NOT_ENROLLED, "No longer enrolled in " + code);
+            }
+        });
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith(HEADER_PREFIX);
+    }
+
+    private static RowResult parse(int lineNumber, String line) {
+        String[] parts = line.split(",", -1);
+        if (parts.length != 3) {
+            return RowResult.rejected(lineNumber, null, null, Outcome.MALFORMED,
+                    "Expected 3 fields but found " + parts.length);
+        }
+        String studentId = parts[0].trim();
+        String courseCode = parts[1].trim().toUpperCase();
+        if (studentId.isEmpty() || courseCode.isEmpty()) {
+            return RowResult.rejected(lineNumber, studentId, courseCode, Outcome.MALFORMED,
+                    "Student id and course code are required");
+        }
+        Grade grade = parseGrade(parts[2].trim());
+        if (grade == null) {
+            return RowResult.rejected(lineNumber, studentId, courseCode, Outcome.INVALID_GRADE,
+                    "Invalid grade '" + parts[2].trim() + "'");
+        }
+        return new RowResult(lineNumber, studentId, courseCode, grade);
+    }
+
+    // Letter grade or grade points; null if neither
+    static Grade parseGrade(String token) {
+        if (token.isEmpty()) return null;
+        char first = token.charAt(0);
+        if (Character.isLetter(first)) {
+            try {
+                return Grade.valueOf(token.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        try {
+            double points = Double.parseDouble(token);
+            if (Double.isNaN(points) || points < 0 || points > MAX_GRADE_POINTS) {
+                return null;
+            }
+            return Grade.getGradeByPoints(points);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parsed row and its outcome
+     */
+    public static final class RowResult {
+        private final int lineNumber;
+        private final String studentId;
+        private final String courseCode;
+        private final Grade grade;
+        private Outcome outcome;
+        private String message;
+
+        RowResult(int lineNumber, String studentId, String courseCode, Grade grade) {
+            this.lineNumber = lineNumber;
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+            this.grade = grade;
+        }
+
+        static RowResult rejected(int lineNumber, String studentId, String courseCode,
+                                  Outcome outcome, String message) {
+            RowResult row = new RowResult(lineNumber, studentId, courseCode, null);
+            row.reject(outcome, message);
+            return row;
+        }
+
+        void reject(Outcome outcome, String message) {
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        public Grade getGrade() {
+            return grade;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return lineNumber + "," + (studentId != null ? studentId : "") + ","
+                   + (courseCode != null ? courseCode : "") + "," + outcome
+                   + (message != null ? "," + message : "");
+        }
+    }
+
+    /**
+     * Outcome of every row in input order, with per-outcome counts
+     */
+    public static final class Report {
+        private final List<RowResult> rows;
+        private final Map<Outcome, Long> counts;
+
+        Report(List<RowResult> rows) {
+            this.rows = Collections.unmodifiableList(rows);
+            Map<Outcome, Long> counts = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                counts.put(outcome, 0L);
+            }
+            counts.putAll(rows.stream()
+                    .collect(Collectors.groupingBy(RowResult::getOutcome, Collectors.counting())));
+            this.counts = Collections.unmodifiableMap(counts);
+        }
+
+        public List<RowResult> getRows() {
+            return rows;
+        }
+
+        public long count(Outcome outcome) {
+            return counts.get(outcome);
+        }
+
+        public Map<Outcome, Long> getCounts() {
+            return counts;
+        }
+
+        public List<RowResult> getRejected() {
+            return rows.stream()
+                    .filter(row -> row.getOutcome() != Outcome.APPLIED)
+                    .collect(Collectors.toList());
+        }
+
+        // Write the full per-row report as CSV
+        public void writeTo(Path path) throws IOException {
+            List<String> lines = new ArrayList<>(rows.size() + 1);
+            lines.add("line,studentId,courseCode,outcome,message");
+            rows.forEach(row -> lines.add(row.toString()));
+            Files.write(path, lines, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            return "Report{rows=" + rows.size() + ", " + counts + "}";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package edu.ccrm.query;
+
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * Binds an index to the collection it was built from
+ * Records the collection, its size and the latest domain version at build
+ * time, so a query can tell in constant time whether the index still
+ * describes its source and fall back to a scan instead of returning stale
+ * results. Any change to any row of the domain type invalidates the index.
+ */
+final class IndexSnapshot<T> {
+    private final Collection<T> source;
+    private final int size;
+    private final long version;
+    private final LongSupplier latestVersion;
+
+    // Take before reading the rows, so changes made during the build invalidate it
+    IndexSnapshot(Collection<T> source, LongSupplier latestVersion) {
+        this.source = source;
+        this.size = source.size();
+        this.version = latestVersion.getAsLong();
+        this.latestVersion = latestVersion;
+    }
+
+    /**
+     * @return true if the source is the indexed collection and neither it nor
+     *         any row has changed since the index was built
+     */
+    boolean isCurrent(Collection<T> source) {
+        return source == this.source
+                && source.size() == size
+                && latestVersion.getAsLong() == version;
+    }
+}
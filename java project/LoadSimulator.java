@@ -0,0 +1,480 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registration-day load harness
+ *
+ * Generates a seeded synthetic population and replays a configurable mix of
+ * enroll, drop, grade posting and transcript operations from several threads.
+ * Each worker draws every random value of an operation up front from its own
+ * seeded Random, independent of shared state, so each worker's sequence of
+ * operations and targets is reproducible; thread interleaving, and with it
+ * which operations are rejected, is not. Throughput covers the measured
+ * operations only, timed from the point where all workers finished warmup.
+ *
+ * Usage: java edu.ccrm.tools.LoadSimulator seed=42 students=20000 courses=800 threads=8
+ */
+public class LoadSimulator {
+    private final Config config;
+
+    /**
+     * Kind of simulated operation
+     */
+    public enum Operation {
+        ENROLL, DROP, GRADE, TRANSCRIPT
+    }
+
+    /**
+     * Reason an operation was rejected by the domain rules
+     */
+    public enum Rejection {
+        COURSE_FULL, CREDIT_LIMIT, ALREADY_ENROLLED, NOT_ENROLLED
+    }
+
+    public LoadSimulator(Config config) {
+        this.config = Objects.requireNonNull(config, "Config cannot be null");
+    }
+
+    public Report run() throws InterruptedException {
+        SyntheticPopulation population = SyntheticPopulation.generate(
+                config.seed, config.students, config.courses);
+        List<Student> students = population.getStudents();
+        List<Course> courses = population.getCourses();
+        Map<String, Course> coursesByCode = courses.stream()
+                .collect(Collectors.toMap(Course::getCode, Function.identity()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(config.threads);
+        CountDownLatch start = new CountDownLatch(1);
+        // The clock starts once every worker has finished its warmup
+        AtomicLong begin = new AtomicLong();
+        CyclicBarrier warmedUp = new CyclicBarrier(config.threads, () -> begin.set(System.nanoTime()));
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int t = 0; t < config.threads; t++) {
+            Worker worker = new Worker(config, config.seed + 31L * (t + 1), students, courses, coursesByCode);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    worker.run(warmedUp);
+                } catch (RuntimeException e) {
+                    warmedUp.reset(); // Release workers still waiting for this one
+                    throw e;
+                }
+                return worker;
+            }));
+        }
+
+        start.countDown();
+        List<Worker> workers = new ArrayList<>();
+        try {
+            for (Future<Worker> future : futures) {
+                workers.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        long end = workers.stream().mapToLong(w -> w.finishedAt).max().orElse(begin.get());
+        return new Report(config, workers, end - begin.get());
+    }
+
+    /**
+     * Single load-generating thread with its own random stream and counters
+     */
+    private static final class Worker {
+        private final Config config;
+        private final Random random;
+        private final List<Student> students;
+        private final List<Course> courses;
+        private final Map<String, Course> coursesByCode;
+        private final int hotCourses;
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Rejection, Long> rejections = new EnumMap<>(Rejection.class);
+        private long finishedAt;
+
+        Worker(Config config, long seed, List<Student> students, List<Course> courses,
+               Map<String, Course> coursesByCode) {
+            this.config = config;
+            this.random = new Random(seed);
+            this.students = students;
+            this.courses = courses;
+            this.coursesByCode = coursesByCode;
+            this.hotCourses = Math.max(1, courses.size() / 20);
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new long[config.operationsPerThread]);
+                counts.put(op, 0);
+            }
+            for (Rejection rejection : Rejection.values()) {
+                rejections.put(rejection, 0L);
+            }
+        }
+
+        void run(CyclicBarrier warmedUp) {
+            for (int i = 0; i < config.warmupOperations; i++) {
+                execute(nextStep());
+            }
+            rejections.replaceAll((r, v) -> 0L);
+            try {
+                warmedUp.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during warmup", e);
+            } catch (BrokenBarrierException e) {
+                throw new IllegalStateException("Another worker failed during warmup", e);
+            }
+            for (int i = 0; i < config.operationsPerThread; i++) {
+                Step step = nextStep();
+                long t0 = System.nanoTime();
+                Rejection rejection = execute(step);
+                long t1 = System.nanoTime();
+                int n = counts.get(step.op);
+                latencies.get(step.op)[n] = t1 - t0;
+                counts.put(step.op, n + 1);
+                if (rejection != null) {
+                    rejections.merge(rejection, 1L, Long::sum);
+                }
+            }
+            finishedAt = System.nanoTime();
+        }
+
+        // Draws the same values in the same order whatever the operation or shared state
+        private Step nextStep() {
+            Operation op = pickOperation(random.nextInt(config.totalWeight()));
+            Student student = students.get(random.nextInt(students.size()));
+            Course course = pickCourse(random.nextDouble(), random.nextInt(hotCourses),
+                    random.nextInt(courses.size()));
+            int enrolledPick = random.nextInt();
+            Grade grade = Grade.getGradeByPoints(4 + random.nextDouble() * 6);
+            return new Step(op, student, course, enrolledPick, grade);
+        }
+
+        private Operation pickOperation(int roll) {
+            if ((roll -= config.enrollWeight) < 0) return Operation.ENROLL;
+            if ((roll -= config.dropWeight) < 0) return Operation.DROP;
+            if ((roll -= config.gradeWeight) < 0) return Operation.GRADE;
+            return Operation.TRANSCRIPT;
+        }
+
+        // Registration storms concentrate on a small set of popular courses
+        private Course pickCourse(double roll, int hotIndex, int anyIndex) {
+            return courses.get(roll < config.hotCourseFraction ? hotIndex : anyIndex);
+        }
+
+        // Locks are always taken course first, then student
+        private Rejection execute(Step step) {
+            Student student = step.student;
+            switch (step.op) {
+                case ENROLL: {
+                    Course course = step.course;
+                    synchronized (course) {
+                        synchronized (student) {
+                            if (student.isEnrolledIn(course.getCode())) return Rejection.ALREADY_ENROLLED;
+                            if (!student.canEnrollInMoreCourses()) return Rejection.CREDIT_LIMIT;
+                            if (!course.enrollStudent()) return Rejection.COURSE_FULL;
+                            student.enrollInCourse(course.getCode());
+                            return null;
+                        }
+                    }
+                }
+                case DROP: {
+                    String code = pickEnrolledCourse(student, step.enrolledPick);
+                    if (code == null) return Rejection.NOT_ENROLLED;
+                    Course course = coursesByCode.get(code);
+                    synchronized (course) {
+                        synchronized (student) {
+                            // Re-check: another worker may have dropped it meanwhile
+                            if (!student.unenrollFromCourse(code)) return Rejection.NOT_ENROLLED;
+                            course.unenrollStudent();
+                            return null;
+                        }
+                    }
+                }
+                case GRADE: {
+                    synchronized (student) {
+                        String code = pickEnrolledCourse(student, step.enrolledPick);
+                        if (code == null) return Rejection.NOT_ENROLLED;
+                        return student.recordGrade(code, step.grade) ? null : Rejection.NOT_ENROLLED;
+                    }
+                }
+                default: {
+                    synchronized (student) {
+                        student.generateTranscript();
+                        return null;
+                    }
+                }
+            }
+        }
+
+        // The pick is drawn before the enrollments are known and reduced here
+        private String pickEnrolledCourse(Student student, int pick) {
+            List<String> enrolled;
+            synchronized (student) {
+                enrolled = new ArrayList<>(student.getEnrolledCourses());
+            }
+            if (enrolled.isEmpty()) return null;
+            Collections.sort(enrolled); // HashSet order is not reproducible
+            return enrolled.get(Math.floorMod(pick, enrolled.size()));
+        }
+    }
+
+    /**
+     * One operation with all of its random choices already made
+     */
+    private static final class Step {
+        final Operation op;
+        final Student student;
+        final Course course;
+        final int enrolledPick;
+        final Grade grade;
+
+        Step(Operation op, Student student, Course course, int enrolledPick, Grade grade) {
+            this.op = op;
+            this.student = student;
+            this.course = course;
+            this.enrolledPick = enrolledPick;
+            this.grade = grade;
+        }
+    }
+
+    /**
+     * Throughput, latency percentiles and rejection counts for one run
+     */
+    public static final class Report {
+        private final Config config;
+        private final long elapsedNanos;
+        private final long totalOperations;
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Rejection, Long> rejections = new EnumMap<>(Rejection.class);
+
+        Report(Config config, List<Worker> workers, long elapsedNanos) {
+            this.config = config;
+            this.elapsedNanos = elapsedNanos;
+            long total = 0;
+            for (Operation op : Operation.values()) {
+                int size = workers.stream().mapToInt(w -> w.counts.get(op)).sum();
+                long[] merged = new long[size];
+                int offset = 0;
+                for (Worker worker : workers) {
+                    int n = worker.counts.get(op);
+                    System.arraycopy(worker.latencies.get(op), 0, merged, offset, n);
+                    offset += n;
+                }
+                Arrays.sort(merged);
+                latencies.put(op, merged);
+                total += size;
+            }
+            for (Rejection rejection : Rejection.values()) {
+                rejections.put(rejection, workers.stream().mapToLong(w -> w.rejections.get(rejection)).sum());
+            }
+            this.totalOperations = total;
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0.0 : totalOperations * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public long getTotalOperations() {
+            return totalOperations;
+        }
+
+        public long getRejections(Rejection rejection) {
+            return rejections.get(rejection);
+        }
+
+        // Latency percentile in microseconds, p in [0, 100]
+        public double getPercentileMicros(Operation op, double p) {
+            long[] sorted = latencies.get(op);
+            if (sorted.length == 0) return 0.0;
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("========== LOAD SIMULATION REPORT ==========\n");
+            sb.append(config).append("\n");
+            sb.append(String.format("Operations: %d in %.1f ms (%.0f ops/s)%n",
+                    totalOperations, elapsedNanos / 1_000_000.0, getThroughput()));
+            sb.append(String.format("%-11s %9s %9s %9s %9s %9s%n",
+                    "Operation", "Count", "p50(us)", "p95(us)", "p99(us)", "max(us)"));
+            for (Operation op : Operation.values()) {
+                sb.append(String.format("%-11s %9d %9.1f %9.1f %9.1f %9.1f%n", op, latencies.get(op).length,
+                        getPercentileMicros(op, 50), getPercentileMicros(op, 95),
+                        getPercentileMicros(op, 99), getPercentileMicros(op, 100)));
+            }
+            sb.append("Rejections: ").append(rejections).append("\n");
+            sb.append("============================================");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Simulation parameters, created through the nested Builder
+     */
+    public static final class Config {
+        private final long seed;
+        private final int students;
+        private final int courses;
+        private final int threads;
+        private final int operationsPerThread;
+        private final int warmupOperations;
+        private final int enrollWeight;
+        private final int dropWeight;
+        private final int gradeWeight;
+        private final int transcriptWeight;
+        private final double hotCourseFraction;
+
+        private Config(Builder builder) {
+            this.seed = builder.seed;
+            this.students = builder.students;
+            this.courses = builder.courses;
+            this.threads = builder.threads;
+            this.operationsPerThread = builder.operationsPerThread;
+            this.warmupOperations = builder.warmupOperations;
+            this.enrollWeight = builder.enrollWeight;
+            this.dropWeight = builder.dropWeight;
+            this.gradeWeight = builder.gradeWeight;
+            this.transcriptWeight = builder.transcriptWeight;
+            this.hotCourseFraction = builder.hotCourseFraction;
+        }
+
+        int totalWeight() {
+            return enrollWeight + dropWeight + gradeWeight + transcriptWeight;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{seed=" + seed + ", students=" + students + ", courses=" + courses +
+                   ", threads=" + threads + ", opsPerThread=" + operationsPerThread +
+                   ", warmup=" + warmupOperations +
+                   ", mix=" + enrollWeight + "/" + dropWeight + "/" + gradeWeight + "/" + transcriptWeight +
+                   ", hot=" + hotCourseFraction + "}";
+        }
+
+        public static class Builder {
+            private long seed = 42L;
+            private int students = 10_000;
+            private int courses = 500;
+            private int threads = Runtime.getRuntime().availableProcessors();
+            private int operationsPerThread = 100_000;
+            private int warmupOperations = 10_000;
+            private int enrollWeight = 50;
+            private int dropWeight = 15;
+            private int gradeWeight = 15;
+            private int transcriptWeight = 20;
+            private double hotCourseFraction = 0.3;
+
+            public Builder seed(long seed) {
+                this.seed = seed;
+                return this;
+            }
+
+            public Builder students(int students) {
+                this.students = requirePositive(students, "Students");
+                return this;
+            }
+
+            public Builder courses(int courses) {
+                this.courses = requirePositive(courses, "Courses");
+                return this;
+            }
+
+            public Builder threads(int threads) {
+                this.threads = requirePositive(threads, "Threads");
+                return this;
+            }
+
+            public Builder operationsPerThread(int operations) {
+                this.operationsPerThread = requirePositive(operations, "Operations");
+                return this;
+            }
+
+            public Builder warmupOperations(int operations) {
+                if (operations < 0) {
+                    throw new IllegalArgumentException("Warmup operations cannot be negative");
+                }
+                this.warmupOperations = operations;
+                return this;
+            }
+
+            // Relative weights of enroll, drop, grade and transcript operations
+            public Builder mix(int enroll, int drop, int grade, int transcript) {
+                if (enroll < 0 || drop < 0 || grade < 0 || transcript < 0
+                        || enroll + drop + grade + transcript == 0) {
+                    throw new IllegalArgumentException("Operation weights must be non-negative and not all zero");
+                }
+                this.enrollWeight = enroll;
+                this.dropWeight = drop;
+                this.gradeWeight = grade;
+                this.transcriptWeight = transcript;
+                return this;
+            }
+
+            // Fraction of enrollments aimed at the most popular 5% of courses
+            public Builder hotCourseFraction(double fraction) {
+                if (fraction < 0 || fraction > 1) {
+                    throw new IllegalArgumentException("Hot course fraction must be between 0 and 1");
+                }
+                this.hotCourseFraction = fraction;
+                return this;
+            }
+
+            public Config build() {
+                return new Config(this);
+            }
+
+            private static int requirePositive(int value, String label) {
+                if (value <= 0) {
+                    throw new IllegalArgumentException(label + " must be positive");
+                }
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Command line entry point; arguments are key=value pairs
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Config.Builder builder = new Config.Builder();
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) {
+                System.err.println("Ignoring argument: " + arg);
+                continue;
+            }
+            String value = kv[1].trim();
+            switch (kv[0].trim().toLowerCase()) {
+                case "seed": builder.seed(Long.parseLong(value)); break;
+                case "students": builder.students(Integer.parseInt(value)); break;
+                case "courses": builder.courses(Integer.parseInt(value)); break;
+                case "threads": builder.threads(Integer.parseInt(value)); break;
+                case "ops": builder.operationsPerThread(Integer.parseInt(value)); break;
+                case "warmup": builder.warmupOperations(Integer.parseInt(value)); break;
+                case "hot": builder.hotCourseFraction(Double.parseDouble(value)); break;
+                case "mix": {
+                    String[] w = value.split("/");
+                    if (w.length != 4) {
+                        throw new IllegalArgumentException("mix must be enroll/drop/grade/transcript");
+                    }
+                    builder.mix(Integer.parseInt(w[0]), Integer.parseInt(w[1]),
+                            Integer.parseInt(w[2]), Integer.parseInt(w[3]));
+                    break;
+                }
+                default: System.err.println("Unknown option: " + kv[0]);
+            }
+        }
+        System.out.println(new LoadSimulator(builder.build()).run());
+    }
+}
@@ -1,8 +1,12 @@
 
+package edu.ccrm.domain;
+
 import java.util.Objects;
 
 /**
  * Immutable value class demonstrating final fields and defensive copying
+ * Name parts are interned, so common names and the empty middle name are
+ * shared across all instances
  */
 public final class Name {
     private final String firstName;
@@ -11,9 +15,9 @@ public final class Name {
     
     // Constructor with defensive copying
     public Name(String firstName, String middleName, String lastName) {
-        this.firstName = firstName != null ? firstName.trim() : "";
-        this.middleName = middleName != null ? middleName.trim() : "";
-        this.lastName = lastName != null ? lastName.trim() : "";
+        this.firstName = canonical(firstName);
+        this.middleName = canonical(middleName);
+        this.lastName = canonical(lastName);
     }
     
     // Constructor without middle name
@@ -21,6 +25,13 @@ public final class Name {
         this(firstName, "", lastName);
     }
     
+    // Trimmed, shared instance of a name part; null becomes the empty string
+    private static String canonical(String part) {
+        if (part == null) return "";
+        String trimmed = part.trim();
+        return trimmed.isEmpty() ? "" : trimmed.intern();
+    }
+    
     // Getters return defensive copies (though String is immutable)
     public String getFirstName() {
         return firstName;
@@ -2,27 +2,37 @@ package edu.ccrm.domain;
 
 import java.time.LocalDate;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Abstract base class demonstrating abstraction and inheritance
  * Uses composition with immutable Name class
+ * Dates are held as epoch days to keep the per-person footprint small
  */
 public abstract class Person {
+    // Source of versions, unique across all people so a replaced object
+    // with the same id can never reuse an old version
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    
+    protected static final int NO_DATE = EpochDays.NO_DATE;
+    
     protected final String id;
     protected Name name;
     protected String email;
-    protected LocalDate dateOfBirth;
-    protected LocalDate createdDate;
-    protected LocalDate lastModified;
+    protected int dateOfBirth; // Epoch day, NO_DATE if unknown
+    protected int createdDate; // Epoch day
+    protected int lastModified; // Epoch day
+    protected volatile long version; // Changes on every modification
     
     // Protected constructor for inheritance
     protected Person(String id, Name name, String email, LocalDate dateOfBirth) {
         this.id = Objects.requireNonNull(id, "ID cannot be null");
         this.name = Objects.requireNonNull(name, "Name cannot be null");
         this.email = Objects.requireNonNull(email, "Email cannot be null");
-        this.dateOfBirth = dateOfBirth;
-        this.createdDate = LocalDate.now();
-        this.lastModified = LocalDate.now();
+        this.dateOfBirth = toEpochDay(dateOfBirth);
+        this.createdDate = today();
+        this.lastModified = this.createdDate;
+        this.version = VERSIONS.incrementAndGet();
     }
     
     // Abstract methods that subclasses must implement
@@ -48,30 +58,63 @@ public abstract class Person {
     }
     
     public LocalDate getDateOfBirth() {
-        return dateOfBirth;
+        return toLocalDate(dateOfBirth);
     }
     
+    // Throws IllegalArgumentException for dates outside the EpochDays range
     public void setDateOfBirth(LocalDate dateOfBirth) {
-        this.dateOfBirth = dateOfBirth;
+        this.dateOfBirth = toEpochDay(dateOfBirth);
         updateLastModified();
     }
     
     public LocalDate getCreatedDate() {
-        return createdDate;
+        return toLocalDate(createdDate);
     }
     
     public LocalDate getLastModified() {
-        return lastModified;
+        return toLocalDate(lastModified);
+    }
+    
+    // Modification version, finer grained than lastModified
+    public long getVersion() {
+        return version;
+    }
+    
+    // Latest version handed out to anyone; unchanged means nobody was created or changed
+    public static long latestVersion() {
+        return VERSIONS.get();
+    }
+    
+    // Restore the dates of a record loaded from storage; call after any other
+    // change, since those move lastModified to today
+    public void restoreAuditDates(LocalDate createdDate, LocalDate lastModified) {
+        this.createdDate = toEpochDay(Objects.requireNonNull(createdDate, "Created date cannot be null"));
+        this.lastModified = toEpochDay(Objects.requireNonNull(lastModified, "Last modified date cannot be null"));
+        this.version = VERSIONS.incrementAndGet();
     }
     
     protected void updateLastModified() {
-        this.lastModified = LocalDate.now();
+        this.lastModified = today();
+        this.version = VERSIONS.incrementAndGet();
     }
     
     // Calculate age using Date/Time API
     public int getAge() {
-        if (dateOfBirth == null) return 0;
-        return LocalDate.now().getYear() - dateOfBirth.getYear();
+        if (dateOfBirth == NO_DATE) return 0;
+        return LocalDate.now().getYear() - LocalDate.ofEpochDay(dateOfBirth).getYear();
+    }
+    
+    // Epoch day conversions shared by subclasses; see EpochDays for the supported range
+    protected static int today() {
+        return EpochDays.today();
+    }
+    
+    protected static int toEpochDay(LocalDate date) {
+        return EpochDays.toInt(date);
+    }
+    
+    protected static LocalDate toLocalDate(int epochDay) {
+        return EpochDays.toLocalDate(epochDay);
     }
     
     @Override
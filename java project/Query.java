@@ -0,0 +1,160 @@
+package edu.ccrm.query;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Abstract base class for domain queries
+ * Collects filter clauses, compiles them into one fused predicate and
+ * evaluates it over index candidates or a (parallel) scan of the source
+ *
+ * @param <T> the domain type being queried
+ * @param <Q> the concrete query type, returned by fluent methods
+ */
+public abstract class Query<T, Q extends Query<T, Q>> {
+    // Sources at least this large are scanned with a parallel stream
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private final List<Clause<T>> clauses = new ArrayList<>();
+    private Comparator<? super T> order;
+    private long limit = -1;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Single filter clause with a relative evaluation cost
+     * Cheap clauses are evaluated first so expensive ones run on fewer rows
+     */
+    protected static final class Clause<T> {
+        final Predicate<? super T> predicate;
+        final int cost;
+
+        Clause(Predicate<? super T> predicate, int cost) {
+            this.predicate = predicate;
+            this.cost = cost;
+        }
+    }
+
+    // Relative clause costs used for ordering the fused predicate
+    protected static final int COST_FIELD = 1;
+    protected static final int COST_LOOKUP = 2;
+    protected static final int COST_COMPUTED = 5;
+
+    protected abstract Q self();
+
+    /**
+     * Narrow the source to candidate rows using any available index
+     * Candidates are always re-checked against every clause
+     *
+     * @param source the full collection being queried
+     * @return the smallest known superset of matching rows
+     */
+    protected Collection<T> candidates(Collection<T> source) {
+        return source;
+    }
+
+    protected Q addClause(Predicate<? super T> predicate, int cost) {
+        clauses.add(new Clause<>(Objects.requireNonNull(predicate), cost));
+        return self();
+    }
+
+    // Arbitrary predicate for filters not covered by the DSL
+    public Q where(Predicate<? super T> predicate) {
+        return addClause(predicate, COST_COMPUTED);
+    }
+
+    public Q orderBy(Comparator<? super T> comparator) {
+        this.order = Objects.requireNonNull(comparator, "Comparator cannot be null");
+        return self();
+    }
+
+    public Q limit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return self();
+    }
+
+    public Q parallelThreshold(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.parallelThreshold = threshold;
+        return self();
+    }
+
+    /**
+     * Compile all clauses into a single predicate
+     * Clauses are ordered by cost and evaluated in one loop, avoiding
+     * a chain of nested lambdas per row
+     */
+    public Predicate<T> compile() {
+        if (clauses.isEmpty()) {
+            return t -> true;
+        }
+        List<Clause<T>> sorted = new ArrayList<>(clauses);
+        sorted.sort(Comparator.comparingInt(c -> c.cost));
+        @SuppressWarnings("unchecked")
+        Predicate<? super T>[] compiled = sorted.stream()
+                .map(c -> c.predicate)
+                .toArray(Predicate[]::new);
+        if (compiled.length == 1) {
+            Predicate<? super T> only = compiled[0];
+            return only::test;
+        }
+        return t -> {
+            for (Predicate<? super T> p : compiled) {
+                if (!p.test(t)) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Evaluate the query as a stream
+     * Filtering is fused into one pass; sorting and limit are applied after
+     */
+    public Stream<T> stream(Collection<T> source) {
+        Objects.requireNonNull(source, "Source cannot be null");
+        Collection<T> rows = candidates(source);
+        Stream<T> stream = rows.size() >= parallelThreshold
+                ? rows.parallelStream()
+                : rows.stream();
+        stream = stream.filter(compile());
+        if (order != null) {
+            stream = stream.sorted(order);
+        }
+        if (limit >= 0) {
+            stream = stream.limit(limit);
+        }
+        return stream;
+    }
+
+    public List<T> list(Collection<T> source) {
+        return stream(source).collect(Collectors.toList());
+    }
+
+    public Optional<T> first(Collection<T> source) {
+        return order != null ? stream(source).findFirst() : stream(source).findAny();
+    }
+
+    public long count(Collection<T> source) {
+        return stream(source).count();
+    }
+
+    /**
+     * Pick the smallest of the index candidate sets
+     * Returns the source unchanged when no index applies
+     */
+    protected static <T> Collection<T> smallest(Collection<T> source, List<Collection<T>> options) {
+        Collection<T> best = source;
+        for (Collection<T> option : options) {
+            if (option != null && option.size() < best.size()) {
+                best = option;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,234 @@
+package edu.ccrm.cache;
+
+import edu.ccrm.domain.Student;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Bounded LRU cache for rendered transcripts and profiles
+ *
+ * Entries are keyed by student id and remember the student's modification
+ * version at render time. Any mutation (recordGrade, enrollInCourse,
+ * setStatus, ...) bumps the version, so a stale entry is detected on the
+ * next read and re-rendered instead of being served.
+ */
+public class RenderCache {
+    // Rough per-entry overhead: map node, key, entry object and String header
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long currentBytes;
+
+    // Metrics, guarded by this
+    private long hits;
+    private long misses;
+    private long staleRenders;
+    private long evictions;
+
+    /**
+     * Kind of rendered output held in the cache
+     */
+    public enum Kind {
+        TRANSCRIPT, PROFILE
+    }
+
+    private static final class Key {
+        final String studentId;
+        final Kind kind;
+
+        Key(String studentId, Kind kind) {
+            this.studentId = studentId;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Key key = (Key) obj;
+            return kind == key.kind && studentId.equals(key.studentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, kind);
+        }
+    }
+
+    private static final class Entry {
+        final long version;
+        final long renderedOn; // Epoch day; profiles include age
+        final String text;
+        final long bytes;
+
+        Entry(long version, long renderedOn, String text) {
+            this.version = version;
+            this.renderedOn = renderedOn;
+            this.text = text;
+            this.bytes = ENTRY_OVERHEAD_BYTES + 2L * text.length();
+        }
+    }
+
+    public RenderCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true); // Access order for LRU
+    }
+
+    public String getTranscript(Student student) {
+        return get(student, Kind.TRANSCRIPT);
+    }
+
+    public String getProfile(Student student) {
+        return get(student, Kind.PROFILE);
+    }
+
+    /**
+     * Return the cached rendering if it matches the student's current
+     * version, otherwise render, store and return a fresh one
+     */
+    public String get(Student student, Kind kind) {
+        Objects.requireNonNull(student, "Student cannot be null");
+        Objects.requireNonNull(kind, "Kind cannot be null");
+        Key key = new Key(student.getId(), kind);
+        long today = LocalDate.now().toEpochDay();
+
+        // Read the version before rendering so a concurrent mutation
+        // leaves the stored entry behind the student, never ahead of it
+        long version = student.getVersion();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version && entry.renderedOn == today) {
+                hits++;
+                return entry.text;
+            }
+            if (entry != null) {
+                staleRenders++;
+            }
+            misses++;
+        }
+
+        String text = kind == Kind.TRANSCRIPT ? student.generateTranscript() : student.renderProfile();
+        put(key, new Entry(version, today, text));
+        return text;
+    }
+
+    public synchronized void invalidate(String studentId) {
+        for (Kind kind : Kind.values()) {
+            remove(new Key(studentId, kind));
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    private synchronized void put(Key key, Entry entry) {
+        if (entry.bytes > maxBytes) {
+            return; // Never cache something that would evict everything else
+        }
+        Entry existing = entries.get(key);
+        if (existing != null && existing.version > entry.version) {
+            return; // A newer rendering won the race
+        }
+        remove(key);
+        entries.put(key, entry);
+        currentBytes += entry.bytes;
+        evictIfNeeded();
+    }
+
+    private void remove(Key key) {
+        Entry old = entries.remove(key);
+        if (old != null) {
+            currentBytes -= old.bytes;
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || currentBytes > maxBytes) && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            currentBytes -= entry.bytes;
+            evictions++;
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, staleRenders, evictions, entries.size(), currentBytes);
+    }
+
+    /**
+     * Immutable snapshot of cache metrics
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long staleRenders;
+        private final long evictions;
+        private final int size;
+        private final long bytes;
+
+        Stats(long hits, long misses, long staleRenders, long evictions, int size, long bytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.staleRenders = staleRenders;
+            this.evictions = evictions;
+            this.size = size;
+            this.bytes = bytes;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        // Misses caused by an entry whose student had since been modified
+        public long getStaleRenders() {
+            return staleRenders;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                   "hits=" + hits +
+                   ", misses=" + misses +
+                   ", hitRate=" + String.format("%.2f", getHitRate() * 100) + "%" +
+                   ", staleRenders=" + staleRenders +
+                   ", evictions=" + evictions +
+                   ", size=" + size +
+                   ", bytes=" + bytes +
+                   "}";
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package edu.ccrm.batch;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel, checkpointed end-of-term academic standing job
+ *
+ * Students are sorted by id and split into fixed-size partitions, which are
+ * evaluated with fork-join. Each partition's decided status changes are
+ * written to the checkpoint file together with the partition number, and
+ * only then applied to the students as one batch. A rerun over the same
+ * population and rules re-applies the recorded changes of finished
+ * partitions, in case they were lost with the interrupted process, and
+ * evaluates the rest; the checkpoint is deleted once the whole run
+ * completes. The checkpoint header fingerprints the population as it was
+ * before the run, so a checkpoint left behind by another term or rule set is
+ * never reused.
+ */
+public class StandingJob {
+    public static final int DEFAULT_PARTITION_SIZE = 10_000;
+
+    private static final String HEADER = "standing-job";
+    private static final String DONE = "done";
+    private static final String SET = "set";
+
+    private final StandingRules rules;
+    private final Path checkpointFile;
+    private final int partitionSize;
+    private final ForkJoinPool pool;
+
+    public StandingJob(StandingRules rules, Path checkpointFile) {
+        this(rules, checkpointFile, DEFAULT_PARTITION_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public StandingJob(StandingRules rules, Path checkpointFile, int partitionSize, ForkJoinPool pool) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("Partition size must be positive");
+        }
+        this.rules = Objects.requireNonNull(rules, "Rules cannot be null");
+        this.checkpointFile = Objects.requireNonNull(checkpointFile, "Checkpoint file cannot be null");
+        this.partitionSize = partitionSize;
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+    }
+
+    public Result run(Collection<Student> population) throws IOException {
+        List<Student> students = new ArrayList<>(population);
+        students.sort(Comparator.comparing(Student::getId));
+        int partitions = (students.size() + partitionSize - 1) / partitionSize;
+        Checkpoint checkpoint = loadCheckpoint();
+        String header = HEADER + " " + fingerprint(students, checkpoint.transitions) + " " + partitionSize;
+        if (!header.equals(checkpoint.header)) {
+            // Different population, rules or settings: start over
+            checkpoint = new Checkpoint(header);
+            Files.write(checkpointFile, Collections.singletonList(header), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+        }
+        Set<Integer> completed = checkpoint.completed;
+
+        Counters counters = new Counters(completed.size());
+        // Changes of finished partitions may not have outlived the interrupted run
+        for (Student student : students) {
+            Transition transition = checkpoint.transitions.get(student.getId());
+            if (transition != null) {
+                if (student.getStatus() != transition.to) {
+                    student.setStatus(transition.to);
+                }
+                counters.transitions.get(transition.to).incrementAndGet();
+            }
+        }
+        try {
+            pool.invoke(new PartitionTask(students, completed, 0, partitions, counters));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.deleteIfExists(checkpointFile);
+        return counters.toResult();
+    }
+
+    /**
+     * Partitions finished by an earlier run and the changes they decided
+     * Changes are only kept once the line recording their partition follows
+     * them, so a write torn by a crash leaves its partition to be re-evaluated
+     */
+    private Checkpoint loadCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return new Checkpoint(null);
+        }
+        List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+        Checkpoint checkpoint = new Checkpoint(lines.isEmpty() ? null : lines.get(0));
+        Map<String, Transition> pending = new HashMap<>();
+        try {
+            for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length == 4 && parts[0].equals(SET)) {
+                    pending.put(parts[1], new Transition(Student.StudentStatus.valueOf(parts[2]),
+                            Student.StudentStatus.valueOf(parts[3])));
+                } else if (parts.length == 2 && parts[0].equals(DONE)) {
+                    checkpoint.completed.add(Integer.parseInt(parts[1]));
+                    checkpoint.transitions.putAll(pending);
+                    pending.clear();
+                } else {
+                    break;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Torn last line: everything before it still counts
+        }
+        return checkpoint;
+    }
+
+    // Record a partition's decided changes and the partition itself in one write
+    private synchronized void checkpoint(int partition, List<Student> changed,
+                                         List<Student.StudentStatus> statuses) {
+        List<String> lines = new ArrayList<>(changed.size() + 1);
+        for (int i = 0; i < changed.size(); i++) {
+            Student student = changed.get(i);
+            lines.add(SET + " " + student.getId() + " " + student.getStatus() + " " + statuses.get(i));
+        }
+        lines.add(DONE + " " + partition);
+        try {
+            Files.write(checkpointFile, lines,
+                    StandardCharsets.UTF_8, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Hash of the rules and of every input they read, as it was before the run
+     * Students with a recorded change are hashed with the status they had
+     * before it, whether or not the change survived the interrupted run
+     */
+    private String fingerprint(List<Student> sorted, Map<String, Transition> recorded) {
+        long hash = 31L * rules.toString().hashCode() + sorted.size();
+        for (Student student : sorted) {
+            Student.StudentStatus status = student.getStatus();
+            Transition transition = recorded.get(student.getId());
+            if (transition != null && (status == transition.from || status == transition.to)) {
+                status = transition.from;
+            }
+            hash = 31 * hash + student.getId().hashCode();
+            hash = 31 * hash + status.ordinal();
+            hash = 31 * hash + student.getGradedCourseCount();
+            hash = 31 * hash + student.countGrades(Grade.F);
+            hash = 31 * hash + Double.hashCode(student.calculateGPA());
+        }
+        return Long.toHexString(hash);
+    }
+
+    /**
+     * Fork-join task over a range of partitions
+     */
+    private final class PartitionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Student> students;
+        private final Set<Integer> completed;
+        private final int from;
+        private final int to;
+        private final Counters counters;
+
+        PartitionTask(List<Student> students, Set<Integer> completed, int from, int to, Counters counters) {
+            this.students = students;
+            this.completed = completed;
+            this.from = from;
+            this.to = to;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PartitionTask(students, completed, from, mid, counters),
+                          new PartitionTask(students, completed, mid, to, counters));
+                return;
+            }
+            if (from >= to || completed.contains(from)) {
+                return;
+            }
+            List<Student> partition = students.subList(from * partitionSize,
+                    Math.min(students.size(), (from + 1) * partitionSize));
+
+            // Evaluate the whole partition first, then apply changes as one batch
+            List<Student> changed = new ArrayList<>();
+            List<Student.StudentStatus> statuses = new ArrayList<>();
+            for (Student student : partition) {
+                Student.StudentStatus next = rules.evaluate(student);
+                if (next != null) {
+                    changed.add(student);
+                    statuses.add(next);
+                }
+            }
+            checkpoint(from, changed, statuses);
+            for (int i = 0; i < changed.size(); i++) {
+                changed.get(i).setStatus(statuses.get(i));
+                counters.transitions.get(statuses.get(i)).incrementAndGet();
+            }
+            counters.evaluated.addAndGet(partition.size());
+            counters.partitions.incrementAndGet();
+        }
+    }
+
+    private static final class Transition {
+        final Student.StudentStatus from;
+        final Student.StudentStatus to;
+
+        Transition(Student.StudentStatus from, Student.StudentStatus to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private static final class Checkpoint {
+        final String header;
+        final Set<Integer> completed = new HashSet<>();
+        final Map<String, Transition> transitions = new HashMap<>();
+
+        Checkpoint(String header) {
+            this.header = header;
+        }
+    }
+
+    private static final class Counters {
+        final AtomicLong evaluated = new AtomicLong();
+        final AtomicLong partitions = new AtomicLong();
+        final long resumedPartitions;
+        final Map<Student.StudentStatus, AtomicLong> transitions = new EnumMap<>(Student.StudentStatus.class);
+
+        Counters(long resumedPartitions) {
+            this.resumedPartitions = resumedPartitions;
+            for (Student.StudentStatus status : Student.StudentStatus.values()) {
+                transitions.put(status, new AtomicLong());
+            }
+        }
+
+        Result toResult() {
+            Map<Student.StudentStatus, Long> counts = new EnumMap<>(Student.StudentStatus.class);
+            transitions.forEach((status, count) -> counts.put(status, count.get()));
+            return new Result(evaluated.get(), partitions.get(), resumedPartitions, counts);
+        }
+    }
+
+    /**
+     * Summary of one run; transitions count students moved into each status,
+     * including changes recorded by an interrupted run that this one resumed
+     */
+    public static final class Result {
+        private final long evaluated;
+        private final long partitions;
+        private final long resumedPartitions;
+        private final Map<Student.StudentStatus, Long> transitions;
+
+        Result(long evaluated, long partitions, long resumedPartitions,
+               Map<Student.StudentStatus, Long> transitions) {
+            this.evaluated = evaluated;
+            this.partitions = partitions;
+            this.resumedPartitions = resumedPartitions;
+            this.transitions = Collections.unmodifiableMap(transitions);
+        }
+
+        public long getEvaluated() {
+            return evaluated;
+        }
+
+        public long getPartitions() {
+            return partitions;
+        }
+
+        // Partitions skipped because an interrupted run had already applied them
+        public long getResumedPartitions() {
+            return resumedPartitions;
+        }
+
+        public long getTransitions(Student.StudentStatus status) {
+            return transitions.get(status);
+        }
+
+        @Override
+        public String toString() {
+            return "Result{evaluated=" + evaluated +
+                   ", partitions=" + partitions +
+                   ", resumed=" + resumedPartitions +
+                   ", transitions=" + transitions + "}";
+        }
+    }
+}
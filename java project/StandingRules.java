@@ -0,0 +1,139 @@
+package edu.ccrm.batch;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+
+import java.util.Properties;
+
+/**
+ * Configurable academic-standing rules
+ *
+ * Only ACTIVE and SUSPENDED students are evaluated. A student is suspended
+ * after too many F grades or a low GPA over enough graded courses; a
+ * suspended student who no longer meets either condition can be reinstated,
+ * but only when reinstatement is switched on; it is off by default so that
+ * lifting a suspension stays a deliberate decision.
+ */
+public final class StandingRules {
+    public static final String PREFIX = "ccrm.standing.";
+
+    private final int suspendFailCount;
+    private final double minimumGpa;
+    private final int minimumGradedCourses;
+    private final boolean reinstate;
+
+    private StandingRules(Builder builder) {
+        this.suspendFailCount = builder.suspendFailCount;
+        this.minimumGpa = builder.minimumGpa;
+        this.minimumGradedCourses = builder.minimumGradedCourses;
+        this.reinstate = builder.reinstate;
+    }
+
+    public static StandingRules defaults() {
+        return new Builder().build();
+    }
+
+    /**
+     * Read rules from properties such as those held by AppConfig
+     * Keys: ccrm.standing.suspendFailCount, ccrm.standing.minimumGpa,
+     * ccrm.standing.minimumGradedCourses, ccrm.standing.reinstate
+     */
+    public static StandingRules fromProperties(Properties properties) {
+        Builder builder = new Builder();
+        String value = properties.getProperty(PREFIX + "suspendFailCount");
+        if (value != null) builder.suspendFailCount(Integer.parseInt(value.trim()));
+        value = properties.getProperty(PREFIX + "minimumGpa");
+        if (value != null) builder.minimumGpa(Double.parseDouble(value.trim()));
+        value = properties.getProperty(PREFIX + "minimumGradedCourses");
+        if (value != null) builder.minimumGradedCourses(Integer.parseInt(value.trim()));
+        value = properties.getProperty(PREFIX + "reinstate");
+        if (value != null) builder.reinstate(Boolean.parseBoolean(value.trim()));
+        return builder.build();
+    }
+
+    /**
+     * Decide the status a student should have
+     *
+     * @return the new status, or null if the student should stay as is
+     */
+    public Student.StudentStatus evaluate(Student student) {
+        Student.StudentStatus current = student.getStatus();
+        if (current != Student.StudentStatus.ACTIVE && current != Student.StudentStatus.SUSPENDED) {
+            return null;
+        }
+        boolean failing = student.countGrades(Grade.F) >= suspendFailCount
+                || (student.getGradedCourseCount() >= minimumGradedCourses
+                    && student.calculateGPA() < minimumGpa);
+        if (failing && current == Student.StudentStatus.ACTIVE) {
+            return Student.StudentStatus.SUSPENDED;
+        }
+        if (!failing && reinstate && current == Student.StudentStatus.SUSPENDED) {
+            return Student.StudentStatus.ACTIVE;
+        }
+        return null;
+    }
+
+    public int getSuspendFailCount() {
+        return suspendFailCount;
+    }
+
+    public double getMinimumGpa() {
+        return minimumGpa;
+    }
+
+    public int getMinimumGradedCourses() {
+        return minimumGradedCourses;
+    }
+
+    public boolean isReinstate() {
+        return reinstate;
+    }
+
+    @Override
+    public String toString() {
+        return "StandingRules{suspendFailCount=" + suspendFailCount +
+               ", minimumGpa=" + minimumGpa +
+               ", minimumGradedCourses=" + minimumGradedCourses +
+               ", reinstate=" + reinstate + "}";
+    }
+
+    public static class Builder {
+        private int suspendFailCount = 2;
+        private double minimumGpa = 5.0;
+        private int minimumGradedCourses = 3;
+        private boolean reinstate;
+
+        public Builder suspendFailCount(int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException("Fail count must be positive");
+            }
+            this.suspendFailCount = count;
+            return this;
+        }
+
+        public Builder minimumGpa(double gpa) {
+            if (gpa < 0 || gpa > 10) {
+                throw new IllegalArgumentException("Minimum GPA must be between 0 and 10");
+            }
+            this.minimumGpa = gpa;
+            return this;
+        }
+
+        public Builder minimumGradedCourses(int courses) {
+            if (courses <= 0) {
+                throw new IllegalArgumentException("Minimum graded courses must be positive");
+            }
+            this.minimumGradedCourses = courses;
+            return this;
+        }
+
+        public Builder reinstate(boolean reinstate) {
+            this.reinstate = reinstate;
+            return this;
+        }
+
+        public StandingRules build() {
+            return new StandingRules(this);
+        }
+    }
+}
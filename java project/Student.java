@@ -11,7 +11,7 @@ public class Student extends Person {
     private String regNo;
     private StudentStatus status;
     private Set<String> enrolledCourses; // Course codes
-    private LocalDate enrollmentDate;
+    private int enrollmentDate; // Epoch day
     private Map<String, Grade> courseGrades; // Course code -> Grade
     
     // Inner enum for student status
@@ -21,11 +21,17 @@ public class Student extends Person {
     
     // Constructor using super
     public Student(String id, String regNo, Name name, String email, LocalDate dateOfBirth) {
+        this(id, regNo, name, email, dateOfBirth, LocalDate.now());
+    }
+    
+    // Constructor for restoring a student enrolled on an earlier date
+    public Student(String id, String regNo, Name name, String email, LocalDate dateOfBirth,
+                   LocalDate enrollmentDate) {
         super(id, name, email, dateOfBirth);
         this.regNo = Objects.requireNonNull(regNo, "Registration number cannot be null");
         this.status = StudentStatus.ACTIVE;
         this.enrolledCourses = new HashSet<>();
-        this.enrollmentDate = LocalDate.now();
+        this.enrollmentDate = toEpochDay(Objects.requireNonNull(enrollmentDate, "Enrollment date cannot be null"));
         this.courseGrades = new HashMap<>();
     }
     
@@ -37,17 +43,24 @@ public class Student extends Person {
     
     @Override
     public void displayProfile() {
-        System.out.println("========== STUDENT PROFILE ==========");
-        System.out.println("ID: " + getId());
-        System.out.println("Registration No: " + regNo);
-        System.out.println("Name: " + getName().getFullName());
-        System.out.println("Email: " + getEmail());
-        System.out.println("Age: " + getAge() + " years");
-        System.out.println("Status: " + status);
-        System.out.println("Enrollment Date: " + enrollmentDate);
-        System.out.println("Enrolled Courses: " + enrolledCourses.size());
-        System.out.println("Current GPA: " + String.format("%.2f", calculateGPA()));
-        System.out.println("=====================================");
+        System.out.print(renderProfile());
+    }
+    
+    // Render the profile shown by displayProfile as a string
+    public String renderProfile() {
+        StringBuilder profile = new StringBuilder();
+        profile.append("========== STUDENT PROFILE ==========\n");
+        profile.append("ID: ").append(getId()).append("\n");
+        profile.append("Registration No: ").append(regNo).append("\n");
+        profile.append("Name: ").append(getName().getFullName()).append("\n");
+        profile.append("Email: ").append(getEmail()).append("\n");
+        profile.append("Age: ").append(getAge()).append(" years\n");
+        profile.append("Status: ").append(status).append("\n");
+        profile.append("Enrollment Date: ").append(getEnrollmentDate()).append("\n");
+        profile.append("Enrolled Courses: ").append(enrolledCourses.size()).append("\n");
+        profile.append("Current GPA: ").append(String.format("%.2f", calculateGPA())).append("\n");
+        profile.append("=====================================\n");
+        return profile.toString();
     }
     
     // Getters and setters demonstrating encapsulation
@@ -69,7 +82,7 @@ public class Student extends Person {
     }
     
     public LocalDate getEnrollmentDate() {
-        return enrollmentDate;
+        return toLocalDate(enrollmentDate);
     }
     
     // Course enrollment methods
@@ -77,7 +90,8 @@ public class Student extends Person {
         if (courseCode == null || courseCode.trim().isEmpty()) {
             return false;
         }
-        boolean added = enrolledCourses.add(courseCode.trim().toUpperCase());
+        // Codes repeat across thousands of students, so share one instance
+        boolean added = enrolledCourses.add(courseCode.trim().toUpperCase().intern());
         if (added) {
             updateLastModified();
         }
@@ -98,12 +112,31 @@ public class Student extends Person {
         return courseCode != null && enrolledCourses.contains(courseCode.trim().toUpperCase());
     }
     
-    // Grade management
-    public void recordGrade(String courseCode, Grade grade) {
+    // Grade management - returns false if the student is not enrolled
+    public boolean recordGrade(String courseCode, Grade grade) {
         if (courseCode != null && grade != null && isEnrolledIn(courseCode)) {
             courseGrades.put(courseCode.trim().toUpperCase(), grade);
             updateLastModified();
+            return true;
+        }
+        return false;
+    }
+    
+    // Record several grades with a single modification; returns the codes recorded
+    public Set<String> recordGrades(Map<String, Grade> grades) {
+        Set<String> recorded = new HashSet<>();
+        for (Map.Entry<String, Grade> entry : grades.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) continue;
+            String code = entry.getKey().trim().toUpperCase();
+            if (enrolledCourses.contains(code)) {
+                courseGrades.put(code, entry.getValue());
+                recorded.add(code);
+            }
+        }
+        if (!recorded.isEmpty()) {
+            updateLastModified();
         }
+        return recorded;
     }
     
     public Grade getGrade(String courseCode) {
@@ -113,6 +146,24 @@ public class Student extends Person {
     public Map<String, Grade> getAllGrades() {
         return new HashMap<>(courseGrades); // Defensive copy
     }
+
+    // Check for a grade without copying the grade map
+    public boolean hasGrade(Grade grade) {
+        return grade != null && courseGrades.containsValue(grade);
+    }
+
+    // Number of courses with the given grade
+    public int countGrades(Grade grade) {
+        int count = 0;
+        for (Grade recorded : courseGrades.values()) {
+            if (recorded == grade) count++;
+        }
+        return count;
+    }
+    
+    public int getGradedCourseCount() {
+        return courseGrades.size();
+    }
     
     // GPA calculation using streams
     public double calculateGPA() {
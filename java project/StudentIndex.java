@@ -0,0 +1,64 @@
+package edu.ccrm.query;
+
+import edu.ccrm.domain.Student;
+
+import java.util.*;
+
+/**
+ * Snapshot index over students by status and enrolled course code
+ * Used by StudentQuery to avoid full scans of the collection it was built
+ * from. Queries over any other collection, or made after any student has
+ * been created or changed, scan instead, so rebuild the index after changes
+ * to keep it useful
+ */
+public final class StudentIndex {
+    private final Map<Student.StudentStatus, List<Student>> byStatus;
+    private final Map<String, List<Student>> byCourse;
+    private final IndexSnapshot<Student> snapshot;
+
+    private StudentIndex(Map<Student.StudentStatus, List<Student>> byStatus,
+                         Map<String, List<Student>> byCourse, IndexSnapshot<Student> snapshot) {
+        this.byStatus = byStatus;
+        this.byCourse = byCourse;
+        this.snapshot = snapshot;
+    }
+
+    // Build the index in a single pass over the students
+    public static StudentIndex build(Collection<Student> students) {
+        Objects.requireNonNull(students, "Students cannot be null");
+        Map<Student.StudentStatus, List<Student>> byStatus = new EnumMap<>(Student.StudentStatus.class);
+        Map<String, List<Student>> byCourse = new HashMap<>();
+        IndexSnapshot<Student> snapshot = new IndexSnapshot<>(students, Student::latestVersion);
+        for (Student student : students) {
+            byStatus.computeIfAbsent(student.getStatus(), s -> new ArrayList<>()).add(student);
+            for (String code : student.getEnrolledCourses()) {
+                byCourse.computeIfAbsent(code, c -> new ArrayList<>()).add(student);
+            }
+        }
+        return new StudentIndex(byStatus, byCourse, snapshot);
+    }
+
+    public List<Student> withStatus(Student.StudentStatus status) {
+        return Collections.unmodifiableList(byStatus.getOrDefault(status, Collections.emptyList()));
+    }
+
+    public List<Student> enrolledIn(String courseCode) {
+        if (courseCode == null) return Collections.emptyList();
+        return Collections.unmodifiableList(
+                byCourse.getOrDefault(courseCode.trim().toUpperCase(), Collections.emptyList()));
+    }
+
+    // Union of students enrolled in any of the given courses, without duplicates
+    public Collection<Student> enrolledInAny(Collection<String> courseCodes) {
+        Set<Student> result = new LinkedHashSet<>();
+        for (String code : courseCodes) {
+            result.addAll(enrolledIn(code));
+        }
+        return result;
+    }
+
+    // Whether lookups still describe the given source exactly
+    boolean isCurrent(Collection<Student> source) {
+        return snapshot.isCurrent(source);
+    }
+}
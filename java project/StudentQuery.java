@@ -0,0 +1,119 @@
+package edu.ccrm.query;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fluent query over students
+ *
+ * Example - active students with GPA below 6 in any FALL CS course:
+ * <pre>
+ *   Set&lt;String&gt; fallCs = new CourseQuery().department("CS").semester(Semester.FALL).codes(courses);
+ *   List&lt;Student&gt; atRisk = new StudentQuery()
+ *           .status(Student.StudentStatus.ACTIVE)
+ *           .gpaBelow(6.0)
+ *           .enrolledInAny(fallCs)
+ *           .using(studentIndex)
+ *           .list(students);
+ * </pre>
+ */
+public class StudentQuery extends Query<Student, StudentQuery> {
+    private final List<Function<StudentIndex, Collection<Student>>> indexLookups = new ArrayList<>();
+    private StudentIndex index;
+
+    @Override
+    protected StudentQuery self() {
+        return this;
+    }
+
+    // Use an index to narrow candidates; falls back to a scan if it is stale
+    public StudentQuery using(StudentIndex index) {
+        this.index = index;
+        return this;
+    }
+
+    public StudentQuery status(Student.StudentStatus status) {
+        Objects.requireNonNull(status, "Status cannot be null");
+        indexLookups.add(idx -> idx.withStatus(status));
+        return addClause(s -> s.getStatus() == status, COST_FIELD);
+    }
+
+    public StudentQuery statusIn(Collection<Student.StudentStatus> statuses) {
+        Set<Student.StudentStatus> allowed = statuses.isEmpty()
+                ? EnumSet.noneOf(Student.StudentStatus.class)
+                : EnumSet.copyOf(statuses);
+        indexLookups.add(idx -> allowed.stream()
+                .flatMap(status -> idx.withStatus(status).stream())
+                .collect(Collectors.toList()));
+        return addClause(s -> allowed.contains(s.getStatus()), COST_FIELD);
+    }
+
+    // GPA range, both bounds inclusive
+    public StudentQuery gpaBetween(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("Minimum GPA cannot exceed maximum GPA");
+        }
+        return addClause(s -> {
+            double gpa = s.calculateGPA();
+            return gpa >= min && gpa <= max;
+        }, COST_COMPUTED);
+    }
+
+    // GPA strictly below the given value
+    public StudentQuery gpaBelow(double max) {
+        return addClause(s -> s.calculateGPA() < max, COST_COMPUTED);
+    }
+
+    public StudentQuery gpaAtLeast(double min) {
+        return addClause(s -> s.calculateGPA() >= min, COST_COMPUTED);
+    }
+
+    // Students holding the given grade in at least one course
+    public StudentQuery hasGrade(Grade grade) {
+        Objects.requireNonNull(grade, "Grade cannot be null");
+        return addClause(s -> s.hasGrade(grade), COST_LOOKUP);
+    }
+
+    public StudentQuery enrolledIn(String courseCode) {
+        return enrolledInAny(Collections.singleton(courseCode));
+    }
+
+    public StudentQuery enrolledInAny(Collection<String> courseCodes) {
+        Objects.requireNonNull(courseCodes, "Course codes cannot be null");
+        // Normalize once here rather than per student
+        List<String> codes = courseCodes.stream()
+                .filter(Objects::nonNull)
+                .map(code -> code.trim().toUpperCase())
+                .distinct()
+                .collect(Collectors.toList());
+        indexLookups.add(idx -> idx.enrolledInAny(codes));
+        return addClause(s -> {
+            for (String code : codes) {
+                if (s.isEnrolledIn(code)) return true;
+            }
+            return false;
+        }, COST_LOOKUP);
+    }
+
+    // Students enrolled in any course matched by the given course query
+    public StudentQuery enrolledInAny(CourseQuery courseQuery, Collection<Course> courses) {
+        return enrolledInAny(courseQuery.codes(courses));
+    }
+
+    @Override
+    protected Collection<Student> candidates(Collection<Student> source) {
+        if (index == null || indexLookups.isEmpty() || !index.isCurrent(source)) {
+            return source; // No usable index: scan
+        }
+        List<Collection<Student>> options = new ArrayList<>();
+        for (Function<StudentIndex, Collection<Student>> lookup : indexLookups) {
+            options.add(lookup.apply(index));
+        }
+        return smallest(source, options);
+    }
+}
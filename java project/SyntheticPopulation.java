@@ -0,0 +1,80 @@
+package edu.ccrm.tools;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Name;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Seeded generator for synthetic students and courses
+ * The same seed and sizes always produce the same population
+ */
+public final class SyntheticPopulation {
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Ananya", "Rohan", "Priya", "Vikram", "Sneha", "Arjun", "Kavya",
+        "Rahul", "Isha", "Karan", "Meera", "Aditya", "Diya", "Nikhil", "Pooja"
+    };
+    private static final String[] MIDDLE_NAMES = {
+        "", "", "", "Kumar", "Raj", "Devi", "Prasad", "Lal"
+    };
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Verma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Singh",
+        "Yadav", "Mehta", "Joshi", "Rao", "Das", "Khan", "Bose", "Menon"
+    };
+    private static final String[] DEPARTMENTS = {
+        "CSE", "ECE", "MECH", "CIVIL", "EEE", "MATH", "PHY", "CHEM"
+    };
+    // Enrollment caps skewed towards small sections, with a few large lectures
+    private static final int[] MAX_ENROLLMENTS = {20, 30, 30, 40, 40, 50, 60, 120};
+
+    private final List<Student> students;
+    private final List<Course> courses;
+
+    private SyntheticPopulation(List<Student> students, List<Course> courses) {
+        this.students = students;
+        this.courses = courses;
+    }
+
+    public static SyntheticPopulation generate(long seed, int studentCount, int courseCount) {
+        if (studentCount < 0 || courseCount <= 0) {
+            throw new IllegalArgumentException("Invalid population size");
+        }
+        Random random = new Random(seed);
+        LocalDate baseBirthDate = LocalDate.of(2000, 1, 1);
+
+        List<Course> courses = new ArrayList<>(courseCount);
+        Semester[] semesters = Semester.values();
+        for (int i = 0; i < courseCount; i++) {
+            String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+            courses.add(new Course.Builder(department + String.format("%04d", i),
+                            department + " Course " + i, 1 + random.nextInt(4))
+                    .department(department)
+                    .semester(semesters[random.nextInt(semesters.length)])
+                    .instructorId("I" + random.nextInt(Math.max(1, courseCount / 4)))
+                    .maxEnrollment(MAX_ENROLLMENTS[random.nextInt(MAX_ENROLLMENTS.length)])
+                    .build());
+        }
+
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Name name = new Name(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            String id = "S" + i;
+            students.add(new Student(id, "REG" + (100000 + i), name,
+                    id.toLowerCase() + "@ccrm.edu", baseBirthDate.plusDays(random.nextInt(3650))));
+        }
+        return new SyntheticPopulation(students, courses);
+    }
+
+    public List<Student> getStudents() {
+        return Collections.unmodifiableList(students);
+    }
+
+    public List<Course> getCourses() {
+        return Collections.unmodifiableList(courses);
+    }
+}